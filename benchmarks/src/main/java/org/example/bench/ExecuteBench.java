@@ -0,0 +1,77 @@
+package org.example.bench;
+
+import org.example.Engine.CompiledEngine;
+import org.example.Engine.ParallelRunner;
+import org.example.Engine.ProgramCache;
+import org.example.Engine.ScreenedEngine;
+import org.example.Engine.SegmentEngine;
+import org.example.Engine.StepEngine;
+import org.example.Model.Plateau;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/** A whole mission through each engine, logging off, on a fresh plateau per invocation. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteBench {
+    @Param({"step", "segment", "screened", "compiled", "parallel"})
+    String engine;
+    @Param({"1000"})
+    int plateauSize;
+    @Param({"10000"})
+    int rovers;
+    @Param({"1000"})
+    int commandLength;
+    @Param({"0.0", "0.5"})
+    double collisionDensity;
+    /** 0: every rover has its own commands; otherwise rovers share this many commands strings. */
+    @Param({"0", "16"})
+    int patterns;
+
+    List<InputParser.RoverPlan> plans;
+
+    @Setup
+    public void setup() {
+        plans = new MissionGenerator(plateauSize, plateauSize, rovers, commandLength, collisionDensity, 7).plans();
+        if (patterns > 0) {
+            List<InputParser.RoverPlan> own = plans;
+            plans = IntStream.range(0, own.size()).mapToObj(r -> new InputParser.RoverPlan(own.get(r).position(),
+                    own.get(r).direction(), own.get(r % patterns).commands())).toList();
+        }
+    }
+
+    @Benchmark
+    public void mission(Blackhole bh) {
+        Plateau plateau = new Plateau(plateauSize, plateauSize);
+        switch (engine) {
+            case "parallel" -> ParallelRunner.run(plans.iterator(), plateau, Event.NOOP, bh::consume);
+            case "segment" -> {
+                int id = 0;
+                for (var p : plans) bh.consume(SegmentEngine.execute(++id, p.position(), p.direction(), p.commands(), plateau, Event.NOOP));
+            }
+            case "compiled" -> {
+                CompiledEngine compiled = new CompiledEngine(new ProgramCache(), false);
+                int id = 0;
+                for (var p : plans) bh.consume(compiled.execute(++id, p.position(), p.direction(), p.commands(), plateau, Event.NOOP));
+            }
+            case "screened" -> {
+                int id = 0;
+                for (var p : plans) bh.consume(ScreenedEngine.execute(++id, p.position(), p.direction(), p.commands(), plateau, Event.NOOP));
+            }
+            default -> {
+                int id = 0;
+                for (var p : plans) bh.consume(StepEngine.execute(++id, p.position(), p.direction(), p.commands(), plateau, Event.NOOP));
+            }
+        }
+    }
+}
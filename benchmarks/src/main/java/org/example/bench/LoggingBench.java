@@ -0,0 +1,70 @@
+package org.example.bench;
+
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.Engine.StepEngine;
+import org.example.Model.Plateau;
+import org.example.Parser.InputParser;
+import org.example.log.AsyncEventLogger;
+import org.example.log.BinaryJournal;
+import org.example.log.Event;
+import org.example.log.EventLogger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of event logging on a step-engine mission: log4j JsonLayout with INFO on and off, the
+ * asynchronous NDJSON writer, the binary journal, and no logger at all as the baseline.
+ * log4j writes to /dev/null through {@code log4j2-bench.xml}; the file loggers get a new temporary
+ * file every iteration, deleted after it, so the file never grows past one iteration's events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-bench.xml")
+public class LoggingBench {
+    @Param({"noop", "log4j-off", "log4j-info", "async", "journal"})
+    String logger;
+
+    List<InputParser.RoverPlan> plans;
+    Event event;
+    Path file;
+
+    @Setup
+    public void setup() {
+        plans = new MissionGenerator(500, 500, 1000, 500, 0.1, 11).plans();
+        Configurator.setLevel("events", logger.equals("log4j-off")
+                ? org.apache.logging.log4j.Level.WARN : org.apache.logging.log4j.Level.INFO);
+    }
+
+    @Setup(Level.Iteration)
+    public void openLogger() throws IOException {
+        file = Files.createTempFile("bench-events-", ".log");
+        event = switch (logger) {
+            case "noop" -> Event.NOOP;
+            case "async" -> AsyncEventLogger.open(file);
+            case "journal" -> BinaryJournal.create(file);
+            default -> new EventLogger();
+        };
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeLogger() throws IOException {
+        event.close();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public void mission(Blackhole bh) {
+        Plateau plateau = new Plateau(500, 500);
+        int id = 0;
+        for (var p : plans) bh.consume(StepEngine.execute(++id, p.position(), p.direction(), p.commands(), plateau, event));
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.bench;
+
+import org.example.Model.Direction;
+import org.example.Model.Position;
+import org.example.Parser.InputParser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic missions for the benchmarks, reproducible from a seed.
+ * <p>
+ * {@code collisionDensity} is the share of rovers that land in a small hot zone in the middle of
+ * the plateau (a square of about 10 cells per such rover), so that they block each other;
+ * the other rovers start uniformly anywhere. Commands are 60% {@code M}, 20% {@code L}, 20% {@code R}.
+ */
+public final class MissionGenerator {
+    public final int maxX, maxY, rovers, commandLength;
+    public final double collisionDensity;
+    private final long seed;
+
+    public MissionGenerator(int maxX, int maxY, int rovers, int commandLength, double collisionDensity, long seed) {
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.rovers = rovers;
+        this.commandLength = commandLength;
+        this.collisionDensity = collisionDensity;
+        this.seed = seed;
+    }
+
+    public List<InputParser.RoverPlan> plans() {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int hot = (int) Math.max(1, Math.min(Math.sqrt(10.0 * rovers * collisionDensity), Math.min(maxX, maxY) + 1));
+        int hotX = (maxX + 1 - hot) / 2, hotY = (maxY + 1 - hot) / 2;
+        List<InputParser.RoverPlan> plans = new ArrayList<>(rovers);
+        char[] cmds = new char[commandLength];
+        for (int r = 0; r < rovers; r++) {
+            Position p = rnd.nextDouble() < collisionDensity
+                    ? new Position(hotX + rnd.nextInt(hot), hotY + rnd.nextInt(hot))
+                    : new Position(rnd.nextInt(maxX + 1), rnd.nextInt(maxY + 1));
+            for (int i = 0; i < commandLength; i++) {
+                int c = rnd.nextInt(5);
+                cmds[i] = c < 3 ? 'M' : c == 3 ? 'L' : 'R';
+            }
+            plans.add(new InputParser.RoverPlan(p, Direction.values()[rnd.nextInt(4)], new String(cmds)));
+        }
+        return plans;
+    }
+
+    /** Writes the mission in the input file format to a temporary file deleted on exit. */
+    public Path write() throws IOException {
+        Path file = Files.createTempFile("mission-", ".txt");
+        file.toFile().deleteOnExit();
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write(maxX + " " + maxY + "\n");
+            for (InputParser.RoverPlan plan : plans()) {
+                out.write(plan.position().x() + " " + plan.position().y() + " " + plan.direction().name() + "\n");
+                out.append(plan.commands()).append('\n');
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.bench;
+
+import org.example.Model.BitsetOccupancy;
+import org.example.Model.LongHashOccupancy;
+import org.example.Model.Occupancy;
+import org.example.Model.Plateau;
+import org.example.Model.TiledOccupancy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Random {@code isOccupied} lookups and {@code occupy} inserts per occupancy implementation. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OccupancyBench {
+    @Param({"bitset", "hash", "tiled"})
+    String impl;
+    @Param({"1000"})
+    int size;
+    @Param({"0.01", "0.3"})
+    double fill;
+
+    Plateau plateau;
+    int[] xs, ys;
+    int next;
+
+    Occupancy newOccupancy() {
+        return switch (impl) {
+            case "bitset" -> new BitsetOccupancy(size + 1, size + 1);
+            case "tiled" -> new TiledOccupancy();
+            default -> new LongHashOccupancy();
+        };
+    }
+
+    @Setup
+    public void setup() {
+        plateau = new Plateau(size, size, newOccupancy());
+        SplittableRandom rnd = new SplittableRandom(3);
+        long cells = (long) (fill * (size + 1) * (size + 1));
+        for (long i = 0; i < cells; i++) plateau.occupy(rnd.nextInt(size + 1), rnd.nextInt(size + 1));
+        xs = new int[1 << 16];
+        ys = new int[1 << 16];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = rnd.nextInt(size + 1);
+            ys[i] = rnd.nextInt(size + 1);
+        }
+    }
+
+    @Benchmark
+    public boolean isOccupied() {
+        int i = next++ & (xs.length - 1);
+        return plateau.isOccupied(xs[i], ys[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1 << 16)
+    public Plateau occupy() {
+        Plateau fresh = new Plateau(size, size, newOccupancy());
+        for (int i = 0; i < xs.length; i++) fresh.occupy(xs[i], ys[i]);
+        return fresh;
+    }
+}
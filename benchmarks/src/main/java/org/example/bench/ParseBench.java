@@ -0,0 +1,50 @@
+package org.example.bench;
+
+import org.example.Parser.InputParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/** Whole-file parse throughput of the full, streaming and memory-mapped readers. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ParseBench {
+    @Param({"10000"})
+    int rovers;
+    @Param({"100", "10000"})
+    int commandLength;
+
+    Path file;
+    final InputParser parser = new InputParser();
+
+    @Setup
+    public void setup() throws IOException {
+        file = new MissionGenerator(1000, 1000, rovers, commandLength, 0.1, 42).write();
+    }
+
+    @Benchmark
+    public Object parseAll() throws IOException {
+        return parser.parser(file);
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) throws IOException {
+        try (var reader = parser.open(file)) {
+            reader.forEachRemaining(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void mapped(Blackhole bh) throws IOException {
+        try (var reader = parser.map(file)) {
+            reader.forEachRemaining(bh::consume);
+        }
+    }
+}
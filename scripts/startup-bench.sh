@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Time to first output line for the three launch modes: plain jar, jar + AppCDS archive, native image.
+#   mvn package -Pappcds            -> target/rover-all.jar, target/rover-all.jsa
+#   mvn package -Pnative (GraalVM)  -> target/rover
+# Usage: scripts/startup-bench.sh [input.txt] [runs]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+INPUT=${1:-src/test/resources/sample.txt}
+RUNS=${2:-20}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+# median, in ms, of the time until the command printed its first line on stdout
+first_output_ms() {
+    local samples=()
+    for ((i = 0; i < RUNS; i++)); do
+        local start end
+        start=$(date +%s%N)
+        "$@" 2>/dev/null | head -n 1 >/dev/null
+        end=$(date +%s%N)
+        samples+=($(((end - start) / 1000000)))
+    done
+    printf '%s\n' "${samples[@]}" | sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }'
+}
+
+report() {
+    printf '%-8s %s\n' "$1" "$2"
+}
+
+[[ -f target/rover-all.jar ]] || { echo "target/rover-all.jar missing, run mvn package first" >&2; exit 1; }
+report "jar" "$(first_output_ms "$JAVA" -jar target/rover-all.jar "$INPUT") ms"
+
+if [[ -f target/rover-all.jsa ]]; then
+    report "appcds" "$(first_output_ms "$JAVA" -XX:SharedArchiveFile=target/rover-all.jsa -jar target/rover-all.jar "$INPUT") ms"
+else
+    report "appcds" "skipped (mvn package -Pappcds)"
+fi
+
+if [[ -x target/rover ]]; then
+    report "native" "$(first_output_ms target/rover "$INPUT") ms"
+else
+    report "native" "skipped (mvn package -Pnative)"
+fi
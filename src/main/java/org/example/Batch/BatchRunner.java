@@ -0,0 +1,267 @@
+package org.example.Batch;
+
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Exception.InputFormatException;
+import org.example.Exception.MissionAbortedException;
+import org.example.Output.ResultSink;
+import org.example.Output.TextResultSink;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Runs many independent missions in one JVM, each with its own {@link InputParser} and
+ * {@link org.example.Model.Plateau}, on a bounded work-stealing pool.
+ * <p>
+ * Results go either to one {@code <mission>.out} per mission in an output directory, at the
+ * mission's path relative to the deepest directory holding every mission (so {@code a/m.txt} and
+ * {@code b/m.txt} of a {@code **} glob get {@code a/m.txt.out} and {@code b/m.txt.out}), or
+ * to a single merged stream in mission order, each mission's lines after a {@code # <mission>}
+ * header. Missions are submitted in order and each first takes a weight from a byte budget: the
+ * size of its file, which bounds what it holds on the heap (occupied cells, buffered results),
+ * capped at half the budget. Submission blocks while the budget is spent, so a batch never has
+ * more than the budget in flight, and a huge mission never takes more than half of it, leaving
+ * room for small ones to run beside it. In merged mode a mission's weight is only returned once
+ * its results have been written, so results waiting for an earlier, slower mission count against
+ * the budget too; since missions are submitted in order, the one the merged stream waits for is
+ * always running and the budget cannot deadlock.
+ * <p>
+ * A failed mission does not stop the batch: its failure is in its {@link Result}. Events of all
+ * missions go to the same logger.
+ */
+public final class BatchRunner {
+    /** Outcome of one mission; {@code status} uses the exit codes of a single run, 0 on success. */
+    public record Result(Path mission, int rovers, int status, String error) {}
+
+    private final String engine;
+    private final ExecutionPolicy policy;
+    private final Event logger;
+    private final int threads;
+    private final int budgetKiB;
+
+    /**
+     * @param threads        pool size
+     * @param inFlightBytes  budget of mission bytes being executed or waiting to be written
+     */
+    public BatchRunner(String engine, ExecutionPolicy policy, Event logger, int threads, long inFlightBytes) {
+        if (!MissionRunner.isEngine(engine)) throw new IllegalArgumentException("Unknown engine: " + engine);
+        if (threads <= 0) throw new IllegalArgumentException("threads must be positive");
+        this.engine = engine;
+        this.policy = policy;
+        this.logger = logger;
+        this.threads = threads;
+        this.budgetKiB = (int) Math.min(Integer.MAX_VALUE, Math.max(2, inFlightBytes >> 10));
+    }
+
+    /**
+     * Missions of a directory (its regular files) or of a glob such as {@code missions/*.txt} or
+     * {@code nightly/**.txt}, sorted by path.
+     */
+    public static List<Path> missions(String dirOrGlob) throws IOException {
+        int meta = indexOfGlob(dirOrGlob);
+        if (meta < 0) {
+            Path dir = Path.of(dirOrGlob);
+            if (!Files.isDirectory(dir)) throw new IOException("Not a directory or glob: " + dirOrGlob);
+            try (Stream<Path> files = Files.list(dir)) {
+                return files.filter(Files::isRegularFile).sorted().toList();
+            }
+        }
+        int slash = dirOrGlob.lastIndexOf('/', meta);
+        Path base = Path.of(slash < 0 ? "" : dirOrGlob.substring(0, slash + 1));
+        String rest = dirOrGlob.substring(slash + 1);
+        int depth = rest.contains("**") ? Integer.MAX_VALUE : (int) rest.chars().filter(c -> c == '/').count() + 1;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + dirOrGlob);
+        try (Stream<Path> files = Files.walk(base, depth)) {
+            return files.filter(p -> Files.isRegularFile(p) && matcher.matches(p)).sorted().toList();
+        }
+    }
+
+    private static int indexOfGlob(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if ("*?[{".indexOf(s.charAt(i)) >= 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Each mission's results to {@code <outDir>/<mission>.out}, {@code <mission>} being its path relative
+     * to the deepest directory holding every mission, see {@link #outputs}.
+     */
+    public List<Result> run(List<Path> missions, Path outDir) throws IOException, InterruptedException {
+        Files.createDirectories(outDir);
+        List<Path> outputs = outputs(missions, outDir);
+        for (Path output : outputs) Files.createDirectories(output.getParent());
+        Semaphore budget = new Semaphore(budgetKiB);
+        return run(missions, budget, (i, mission, weight) -> {
+            try (WritableByteChannel out = FileChannel.open(outputs.get(i),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                return execute(mission, out);
+            } catch (IOException e) {
+                return new Result(mission, 0, 1, e.getMessage());
+            } finally {
+                budget.release(weight);
+            }
+        });
+    }
+
+    /**
+     * Output file of each mission: {@code <outDir>/<path>.out}, {@code <path>} being the mission relative
+     * to the deepest directory holding every mission; just its file name when they share a directory.
+     * @throws IOException if two missions are the same file
+     */
+    public static List<Path> outputs(List<Path> missions, Path outDir) throws IOException {
+        List<Path> absolute = missions.stream().map(m -> m.toAbsolutePath().normalize()).toList();
+        Path base = absolute.isEmpty() ? null : absolute.get(0).getParent();
+        for (Path mission : absolute) {
+            while (!mission.startsWith(base)) base = base.getParent();
+        }
+        List<Path> outputs = new ArrayList<>(missions.size());
+        Set<Path> seen = new HashSet<>();
+        for (int i = 0; i < absolute.size(); i++) {
+            Path output = outDir.resolve(base.relativize(absolute.get(i)) + ".out");
+            if (!seen.add(output)) throw new IOException("Mission listed twice: " + missions.get(i));
+            outputs.add(output);
+        }
+        return outputs;
+    }
+
+    /** All results to {@code merged}, in mission order, each mission after a {@code # <mission>} line. */
+    public List<Result> run(List<Path> missions, OutputStream merged) throws IOException, InterruptedException {
+        Semaphore budget = new Semaphore(budgetKiB);
+        OrderedOutput ordered = new OrderedOutput(merged, missions.size(), budget);
+        List<Result> results = run(missions, budget, (i, mission, weight) -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.writeBytes(("# " + mission + "\n").getBytes(StandardCharsets.UTF_8));
+            Result res;
+            try {
+                res = execute(mission, Channels.newChannel(out));
+            } finally {
+                ordered.completed(i, out, weight);
+            }
+            return res;
+        });
+        ordered.check();
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        Result run(int index, Path mission, int weight);
+    }
+
+    private List<Result> run(List<Path> missions, Semaphore budget, Task task)
+            throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newWorkStealingPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>(missions.size());
+            for (int i = 0; i < missions.size(); i++) {
+                Path mission = missions.get(i);
+                int weight = weight(mission);
+                budget.acquire(weight);
+                int index = i;
+                futures.add(pool.submit(() -> task.run(index, mission, weight)));
+            }
+            List<Result> results = new ArrayList<>(missions.size());
+            for (Future<Result> f : futures) results.add(f.get());
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            if (e.getCause() instanceof RuntimeException r) throw r;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Budget taken by a mission: its size in KiB, at least 1 and at most half the budget. */
+    private int weight(Path mission) {
+        long size;
+        try {
+            size = Files.size(mission);
+        } catch (IOException e) {
+            size = 0; // reported when the mission is opened
+        }
+        return (int) Math.max(1, Math.min(budgetKiB / 2, (size + 1023) >> 10));
+    }
+
+    private Result execute(Path mission, WritableByteChannel out) {
+        int[] rovers = {0};
+        try (InputParser.MissionReader reader = new InputParser().map(mission);
+             ResultSink results = new TextResultSink(out, false)) {
+            MissionRunner.run(reader, engine, policy, logger, null, res -> {
+                rovers[0]++;
+                results.accept(res);
+            });
+        } catch (IOException | UncheckedIOException e) {
+            return new Result(mission, rovers[0], 1, "I/O error: " + e.getMessage());
+        } catch (InputFormatException e) {
+            return new Result(mission, rovers[0], 2, "Input error: " + e.getMessage());
+        } catch (MissionAbortedException e) {
+            return new Result(mission, rovers[0], 3, e.getMessage());
+        }
+        return new Result(mission, rovers[0], 0, null);
+    }
+
+    /**
+     * Writes the buffered results of each mission once every earlier mission's have been written,
+     * on whichever worker completes the gap, and returns their weight to the budget.
+     */
+    private static final class OrderedOutput {
+        private final OutputStream out;
+        private final ByteArrayOutputStream[] done;
+        private final int[] weights;
+        private final Semaphore budget;
+        private int next;
+        private IOException failure;
+
+        OrderedOutput(OutputStream out, int missions, Semaphore budget) {
+            this.out = out;
+            this.done = new ByteArrayOutputStream[missions];
+            this.weights = new int[missions];
+            this.budget = budget;
+        }
+
+        synchronized void completed(int index, ByteArrayOutputStream results, int weight) {
+            done[index] = results;
+            weights[index] = weight;
+            for (; next < done.length && done[next] != null; next++) {
+                try {
+                    if (failure == null) done[next].writeTo(out);
+                } catch (IOException e) {
+                    failure = e; // keep releasing so submission never blocks on a dead stream
+                }
+                done[next] = null;
+                budget.release(weights[next]);
+            }
+        }
+
+        synchronized void check() throws IOException {
+            if (failure == null) out.flush();
+            if (failure != null) throw failure;
+        }
+    }
+}
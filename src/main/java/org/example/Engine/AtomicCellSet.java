@@ -0,0 +1,96 @@
+package org.example.Engine;
+
+import org.example.Model.Occupancy;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Set of cells that threads add and remove concurrently, sized by the number of cells it may hold
+ * rather than by the area they lie in: an open-addressing table of packed cells (see
+ * {@link Occupancy#pack}) with linear probing, every update a compare-and-set on one slot.
+ * Coordinates must be non-negative, negative keys mark empty and removed slots.
+ * <p>
+ * {@link #add} never reuses a removed slot, so two threads adding the same cell meet on the same
+ * first empty slot and only one of them wins. Removed slots are reclaimed by {@link #compact},
+ * between the phases that use the set: the table has four slots per cell held, so as long as no
+ * phase adds more than that many cells it always has empty slots to end a probe.
+ */
+final class AtomicCellSet {
+    /** Most cells a set may be sized for. */
+    static final int MAX_CELLS = 1 << 28;
+    private static final long EMPTY = -1, REMOVED = -2;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final int shift;
+    // slots that are not empty: at the last compaction, and taken since
+    private int used;
+    private final LongAdder taken = new LongAdder();
+
+    /** @param cells most cells held at once, and most added between two {@link #compact} calls */
+    AtomicCellSet(long cells) {
+        if (cells > MAX_CELLS) throw new IllegalArgumentException("Lockstep: more than " + MAX_CELLS + " cells to track");
+        int capacity = Integer.highestOneBit((int) Math.max(4, cells) - 1) << 3; // between 4 and 8 slots per cell
+        slots = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) slots.setPlain(i, EMPTY);
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(capacity - 1L);
+    }
+
+    private int slot(long cell) {
+        return (int) ((cell * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+    }
+
+    boolean contains(long cell) {
+        for (int i = slot(cell); ; i = (i + 1) & mask) {
+            long v = slots.get(i);
+            if (v == cell) return true;
+            if (v == EMPTY) return false;
+        }
+    }
+
+    /** @return true if this call added the cell, false if it was already in the set */
+    boolean add(long cell) {
+        for (int i = slot(cell); ; ) {
+            long v = slots.get(i);
+            if (v == cell) return false;
+            if (v == EMPTY) {
+                if (slots.compareAndSet(i, EMPTY, cell)) {
+                    taken.increment();
+                    return true;
+                }
+                continue; // taken meanwhile: look at it again
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /** Removes {@code cell}; only one thread may remove a given cell at a time. */
+    void remove(long cell) {
+        for (int i = slot(cell); ; i = (i + 1) & mask) {
+            long v = slots.get(i);
+            if (v == EMPTY) return;
+            if (v == cell && slots.compareAndSet(i, cell, REMOVED)) return;
+        }
+    }
+
+    /** Reclaims removed slots once half the table is taken; no other thread may use the set meanwhile. */
+    void compact() {
+        if (used + taken.sum() <= (mask + 1) / 2) return;
+        long[] live = new long[mask + 1];
+        int count = 0;
+        for (int i = 0; i <= mask; i++) {
+            long v = slots.getPlain(i);
+            if (v >= 0) live[count++] = v;
+            slots.setPlain(i, EMPTY);
+        }
+        for (int k = 0; k < count; k++) {
+            int i = slot(live[k]);
+            while (slots.getPlain(i) != EMPTY) i = (i + 1) & mask;
+            slots.setPlain(i, live[k]);
+        }
+        used = count;
+        taken.reset();
+    }
+}
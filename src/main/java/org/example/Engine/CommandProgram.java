@@ -0,0 +1,84 @@
+package org.example.Engine;
+
+import static org.example.Engine.StepEngine.DX;
+import static org.example.Engine.StepEngine.DY;
+
+/**
+ * A commands string compiled once into the cells its moves enter, relative to the start cell.
+ * Turns only change what the following moves do, so they leave no trace but the heading stored
+ * with each move. Executing the program is a scan of {@link #moves} against the plateau, with no
+ * command decoding.
+ * <p>
+ * Offsets are stored for a rover facing north; for any other start heading they are the same
+ * path rotated, {@code (dx, dy)} becoming {@code (dy, -dx)} facing east, {@code (-dx, -dy)} south
+ * and {@code (-dy, dx)} west, so one array serves all four and is rotated with two multiply-adds
+ * per coordinate.
+ */
+final class CommandProgram {
+    /** Per move: {@code step << 2 | heading offset}, then {@code dx} and {@code dy} after the move. */
+    final int[] moves;
+    /** Heading offset after the last command. */
+    final int endTurn;
+    // the source, to tell programs apart on a hash collision
+    private final byte[] text;
+
+    private CommandProgram(int[] moves, int endTurn, byte[] text) {
+        this.moves = moves;
+        this.endTurn = endTurn;
+        this.text = text;
+    }
+
+    /** @return the program, or {@code null} if {@code commands} holds anything but {@code L/R/M} */
+    static CommandProgram compile(CharSequence commands) {
+        int n = commands.length();
+        byte[] text = new byte[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            char c = commands.charAt(i);
+            switch (c) {
+                case 'M', 'm' -> count++;
+                case 'L', 'l', 'R', 'r' -> { }
+                default -> {
+                    return null;
+                }
+            }
+            text[i] = (byte) c;
+        }
+        int[] moves = new int[count * 3];
+        int dx = 0, dy = 0, turn = 0;
+        for (int i = 0, k = 0; i < n; i++) {
+            switch (text[i]) {
+                case 'L', 'l' -> turn = StepEngine.left(turn);
+                case 'R', 'r' -> turn = StepEngine.right(turn);
+                default -> {
+                    dx += DX[turn];
+                    dy += DY[turn];
+                    moves[k++] = (i + 1) << 2 | turn;
+                    moves[k++] = dx;
+                    moves[k++] = dy;
+                }
+            }
+        }
+        return new CommandProgram(moves, turn, text);
+    }
+
+    /** Commands of the source. */
+    int length() {
+        return text.length;
+    }
+
+    boolean matches(CharSequence commands) {
+        if (commands.length() != text.length) return false;
+        for (int i = 0; i < text.length; i++) {
+            if (commands.charAt(i) != text[i]) return false;
+        }
+        return true;
+    }
+
+    /** 64-bit FNV-1a of the characters. */
+    static long hash(CharSequence commands) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0, n = commands.length(); i < n; i++) h = (h ^ commands.charAt(i)) * 0x100000001B3L;
+        return h;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.Engine;
+
+import org.example.Model.*;
+import org.example.log.Event;
+
+/**
+ * Runs each rover from the {@link CommandProgram} of its commands string, taken from a
+ * {@link ProgramCache}: rovers sharing a string (survey patterns sent to a whole fleet) compile
+ * it once, and every rover is then a scan of precomputed offsets, rotated to its start heading,
+ * against the plateau bounds and occupancy, with no command decoding. Same results as
+ * {@link StepEngine}; like {@link SegmentEngine}, only ROVER_START, FAULT and ROVER_COMPLETED are
+ * logged.
+ * <p>
+ * In skip-step mode the offsets hold only as long as no move is skipped, so a rover with a
+ * blocked move is run again from its start by {@link SkippingStepEngine}. Strings the cache does
+ * not compile go to {@link StepEngine} or {@link SkippingStepEngine} directly.
+ */
+public final class CompiledEngine implements RoverEngine {
+    // rotation of the north-facing offsets by start heading: x' = C*dx + S*dy, y' = C*dy - S*dx
+    private static final int[] C = {1, 0, -1, 0};
+    private static final int[] S = {0, 1, 0, -1};
+
+    private final ProgramCache cache;
+    private final boolean skip;
+
+    /** @param skip skip-step mode */
+    public CompiledEngine(ProgramCache cache, boolean skip) {
+        this.cache = cache;
+        this.skip = skip;
+    }
+
+    public ProgramCache cache() {
+        return cache;
+    }
+
+    @Override
+    public ExecutionResult execute(int roverId, Position start, Direction direction,
+                                   CharSequence commands, Plateau plateau, Event logger) {
+        CommandProgram program = cache.get(commands);
+        if (program == null) {
+            return skip ? SkippingStepEngine.execute(roverId, start, direction, commands, plateau, logger)
+                    : StepEngine.execute(roverId, start, direction, commands, plateau, logger);
+        }
+
+        int x0 = start.x(), y0 = start.y(), h0 = direction.ordinal();
+        if (plateau.isOccupied(x0, y0)) {
+            logStart(roverId, start, direction, logger);
+            var res = new ExecutionResult.Stopped(roverId, start, direction,
+                    ExecutionResult.Fault.OCCUPIED, 0, '-', start);
+            logger.warn("FAULT","start on occupied","roverId",roverId,"fault",res.fault(),"step",0,"attempted",start);
+            return res;
+        }
+
+        final int c = C[h0], s = S[h0];
+        final int[] moves = program.moves;
+        int x = x0, y = y0;
+        for (int k = 0; k < moves.length; k += 3) {
+            int dx = moves[k + 1], dy = moves[k + 2];
+            int nx = x0 + c * dx + s * dy, ny = y0 + c * dy - s * dx;
+            boolean out = !plateau.isBounds(nx, ny);
+            if (out || plateau.isOccupied(nx, ny)) {
+                if (skip) return SkippingStepEngine.execute(roverId, start, direction, commands, plateau, logger);
+                logStart(roverId, start, direction, logger);
+                return StepEngine.stop(roverId, x, y, (h0 + (moves[k] & 3)) & 3,
+                        out ? ExecutionResult.Fault.OUT_OF_BOUNDS : ExecutionResult.Fault.OCCUPIED,
+                        moves[k] >>> 2, nx, ny, plateau, logger);
+            }
+            x = nx;
+            y = ny;
+        }
+        logStart(roverId, start, direction, logger);
+        return StepEngine.complete(roverId, x, y, (h0 + program.endTurn) & 3, plateau, logger);
+    }
+
+    /** ROVER_START once the rover is known not to be handed over to another engine, which logs its own. */
+    private static void logStart(int roverId, Position start, Direction direction, Event logger) {
+        if (logger.isEnabled("ROVER_START", roverId))
+            logger.info("ROVER_START","start rover","roverId",roverId,"pos",start,"dir",direction);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.Engine;
+
+import java.util.Arrays;
+
+/**
+ * What a rover does when a move is blocked (off the plateau or into an occupied cell), selected
+ * with {@code --mode}. Each policy has its own rover loops rather than a flag tested on every
+ * step, so the JIT compiles each mode's loop on its own:
+ * <ul>
+ *   <li>{@code fail-fast-per-rover}: the rover stops where it is, the next rover starts
+ *   ({@link StepEngine}, {@link SegmentEngine});</li>
+ *   <li>{@code fail-fast}: same loops, and the first stopped rover aborts the mission
+ *   ({@link MissionRunner} raises {@link org.example.Exception.MissionAbortedException});</li>
+ *   <li>{@code skip-step}: the blocked move is ignored and the rover goes on
+ *   ({@link SkippingStepEngine}, {@link SkippingSegmentEngine}).</li>
+ * </ul>
+ */
+public enum ExecutionPolicy {
+    FAIL_FAST("fail-fast"),
+    FAIL_FAST_PER_ROVER("fail-fast-per-rover"),
+    SKIP_STEP("skip-step");
+
+    public final String mode;
+
+    ExecutionPolicy(String mode) {
+        this.mode = mode;
+    }
+
+    public static ExecutionPolicy of(String mode) {
+        return Arrays.stream(values()).filter(p -> p.mode.equals(mode)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown mode: " + mode));
+    }
+
+    /**
+     * Per-rover loop of this policy for a sequential engine, {@code step}, {@code segment}, {@code screened}
+     * or {@code compiled}; the last one comes with a new {@link ProgramCache}.
+     */
+    public RoverEngine roverEngine(String engine) {
+        boolean skip = skipsBlockedMoves();
+        return switch (engine) {
+            case "step" -> skip ? SkippingStepEngine::execute : StepEngine::execute;
+            case "segment" -> skip ? SkippingSegmentEngine::execute : SegmentEngine::execute;
+            case "screened" -> skip ? ScreenedEngine::executeSkipping : ScreenedEngine::execute;
+            case "compiled" -> new CompiledEngine(new ProgramCache(), skip);
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        };
+    }
+
+    public boolean skipsBlockedMoves() {
+        return this == SKIP_STEP;
+    }
+
+    public boolean abortsMission() {
+        return this == FAIL_FAST;
+    }
+}
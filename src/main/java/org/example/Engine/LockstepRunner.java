@@ -0,0 +1,290 @@
+package org.example.Engine;
+
+import org.example.Model.*;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.example.Engine.StepEngine.DX;
+import static org.example.Engine.StepEngine.DY;
+import static org.example.Engine.StepEngine.HEADINGS;
+
+/**
+ * Simultaneous movement: instead of each rover running its whole command string before the next
+ * one lands, every rover executes its first command, then every rover its second, and so on, one
+ * tick per command. This is a different simulation from the sequential engines and gives
+ * different results whenever rovers meet.
+ * <p>
+ * Rules of a tick:
+ * <ul>
+ *   <li>a move off the plateau stops the rover (is skipped in skip-step mode), as sequentially;</li>
+ *   <li>a move into a cell occupied at the start of the tick is blocked, even if its rover leaves
+ *       it during the tick, so rovers never swap cells or follow each other nose to tail;</li>
+ *   <li>of several rovers moving into the same free cell, the lowest rover id gets it and the
+ *       others are blocked;</li>
+ *   <li>a blocked move stops the rover (is skipped in skip-step mode), which keeps its cell.</li>
+ * </ul>
+ * Rovers that start on an occupied cell, or on the start cell of a lower rover, stop at step 0.
+ * A rover that has run out of commands, or has stopped, stays where it is for the remaining ticks.
+ * <p>
+ * Each tick runs its active rovers in chunks on the common fork-join pool, in two phases. In the
+ * first, every rover decodes its command and a moving rover claims its target cell by adding it
+ * to a lock-free {@link AtomicCellSet}; a rover that finds the cell already there marks it
+ * contested. Only when some cell was contested does an extra phase record the lowest claimant of
+ * each contested cell. In the second phase, winners move in the occupancy set and release their
+ * claim. Every decision depends only on the state at the start of the tick and on rover ids, never
+ * on thread timing, so results are deterministic.
+ * <p>
+ * The sets are sized by the rovers, plus the plateau's occupied cells that some rover can reach
+ * (within its command count of its start cell), not by the area they cover, so long command
+ * strings on a large plateau cost nothing up front. The whole mission is read before the first
+ * tick, and results are handed to the sink in rover order once every rover has finished. The
+ * plateau is only read before the first tick and updated with the final cells; only ROVER_START,
+ * FAULT and ROVER_COMPLETED are logged.
+ */
+public final class LockstepRunner {
+    /** Rovers per task of a tick phase; ticks with fewer active rovers run on the calling thread. */
+    static final int CHUNK = 2048;
+
+    private static final byte ACTIVE = 0, DONE = 1, STOPPED = 2;
+
+    private LockstepRunner() {}
+
+    /**
+     * @param skip skip blocked moves instead of stopping the rover
+     * @return number of rovers executed
+     */
+    public static int run(Iterator<InputParser.RoverPlan> plans, Plateau plateau, int firstRoverId, boolean skip,
+                          Event logger, Consumer<ExecutionResult> sink) {
+        List<InputParser.RoverPlan> fleet = new ArrayList<>();
+        RuntimeException parseError = null;
+        while (plans.hasNext()) {
+            try {
+                fleet.add(plans.next());
+            } catch (RuntimeException e) {
+                parseError = e; // raised after the rovers before it have been reported
+                break;
+            }
+        }
+        Simulation sim = new Simulation(fleet, plateau, skip);
+        sim.run();
+        for (int r = 0; r < fleet.size(); r++) sink.accept(sim.report(r, firstRoverId + r, logger));
+        if (parseError != null) throw parseError;
+        return fleet.size();
+    }
+
+    /** Runs {@code body} for {@code 0 .. count - 1}, in chunks on the common pool when there are enough. */
+    private static void forEach(int count, IntConsumer body) {
+        if (count <= CHUNK) {
+            for (int k = 0; k < count; k++) body.accept(k);
+            return;
+        }
+        IntStream.range(0, (count + CHUNK - 1) / CHUNK).parallel().forEach(chunk -> {
+            for (int k = chunk * CHUNK, end = Math.min(count, k + CHUNK); k < end; k++) body.accept(k);
+        });
+    }
+
+    /** State of every rover, one array per field, indexed by position in the mission. */
+    private static final class Simulation {
+        private final List<InputParser.RoverPlan> plans;
+        private final Plateau plateau;
+        private final boolean skip;
+        private final CharSequence[] commands;
+        private final int[] x, y;
+        private final byte[] h, state;
+        // fault of a stopped rover: step, attempted cell and kind
+        private final int[] step, ax, ay;
+        private final ExecutionResult.Fault[] fault;
+        // packed cell a rover claimed this tick, or -1
+        private final long[] target;
+        private final int[] active;
+        private int activeCount;
+
+        // in-bounds cells any rover can reach
+        private long wx0, wy0, wx1, wy1;
+        private AtomicCellSet occupied, claims, contested;
+        private final ConcurrentHashMap<Long, Integer> winners = new ConcurrentHashMap<>();
+        private volatile boolean contention;
+
+        Simulation(List<InputParser.RoverPlan> plans, Plateau plateau, boolean skip) {
+            int n = plans.size();
+            this.plans = plans;
+            this.plateau = plateau;
+            this.skip = skip;
+            commands = new CharSequence[n];
+            x = new int[n];
+            y = new int[n];
+            h = new byte[n];
+            state = new byte[n];
+            step = new int[n];
+            ax = new int[n];
+            ay = new int[n];
+            fault = new ExecutionResult.Fault[n];
+            target = new long[n];
+            active = new int[n];
+            place();
+        }
+
+        /** Lands the rovers in order, sizes the window and fills the occupancy set. */
+        private void place() {
+            LongHashOccupancy starts = new LongHashOccupancy();
+            long minX = Long.MAX_VALUE, maxX = Long.MIN_VALUE, minY = Long.MAX_VALUE, maxY = Long.MIN_VALUE;
+            int maxLen = 0;
+            for (int r = 0; r < commands.length; r++) {
+                InputParser.RoverPlan plan = plans.get(r);
+                int sx = plan.position().x(), sy = plan.position().y();
+                commands[r] = plan.commands();
+                x[r] = sx;
+                y[r] = sy;
+                h[r] = (byte) plan.direction().ordinal();
+                target[r] = -1;
+                if (plateau.isOccupied(sx, sy) || starts.contains(sx, sy)) {
+                    stop(r, ExecutionResult.Fault.OCCUPIED, 0, sx, sy);
+                    continue;
+                }
+                starts.add(sx, sy);
+                if (commands[r].isEmpty()) {
+                    state[r] = DONE;
+                    continue;
+                }
+                active[activeCount++] = r;
+                minX = Math.min(minX, sx);
+                maxX = Math.max(maxX, sx);
+                minY = Math.min(minY, sy);
+                maxY = Math.max(maxY, sy);
+                maxLen = Math.max(maxLen, commands[r].length());
+            }
+            wx0 = Math.max(0, minX - maxLen);
+            wx1 = Math.min(plateau.maxX(), maxX + maxLen);
+            wy0 = Math.max(0, minY - maxLen);
+            wy1 = Math.min(plateau.maxY(), maxY + maxLen);
+            long[] reachable = new long[1];
+            plateau.forEachOccupied(k -> {
+                if (inWindow(Occupancy.unpackX(k), Occupancy.unpackY(k))) reachable[0]++;
+            });
+            occupied = new AtomicCellSet(reachable[0] + commands.length);
+            claims = new AtomicCellSet(activeCount);
+            contested = new AtomicCellSet(activeCount);
+
+            plateau.forEachOccupied(k -> {
+                if (inWindow(Occupancy.unpackX(k), Occupancy.unpackY(k))) occupied.add(k);
+            });
+            for (int r = 0; r < commands.length; r++) {
+                if (state[r] != STOPPED && inWindow(x[r], y[r])) occupied.add(Occupancy.pack(x[r], y[r]));
+            }
+        }
+
+        private boolean inWindow(int cx, int cy) {
+            return cx >= wx0 && cx <= wx1 && cy >= wy0 && cy <= wy1;
+        }
+
+        void run() {
+            for (int t = 0; activeCount > 0; t++) {
+                final int tick = t;
+                contention = false;
+                forEach(activeCount, k -> decide(active[k], tick));
+                if (contention) {
+                    forEach(activeCount, k -> {
+                        int r = active[k];
+                        if (target[r] >= 0 && contested.contains(target[r])) winners.merge(target[r], r, Math::min);
+                    });
+                }
+                forEach(activeCount, k -> move(active[k], tick));
+                if (contention) {
+                    for (long c : winners.keySet()) {
+                        claims.remove(c);
+                        contested.remove(c);
+                    }
+                    winners.clear();
+                }
+                occupied.compact();
+                claims.compact();
+                contested.compact();
+
+                int kept = 0;
+                for (int k = 0; k < activeCount; k++) {
+                    int r = active[k];
+                    if (state[r] != ACTIVE) continue;
+                    if (commands[r].length() > t + 1) active[kept++] = r;
+                    else state[r] = DONE;
+                }
+                activeCount = kept;
+            }
+        }
+
+        /** First phase: turn, or check a move and claim its target cell. */
+        private void decide(int r, int t) {
+            target[r] = -1;
+            char c = commands[r].charAt(t);
+            switch (c) {
+                case 'L', 'l' -> h[r] = (byte) StepEngine.left(h[r]);
+                case 'R', 'r' -> h[r] = (byte) StepEngine.right(h[r]);
+                case 'M', 'm' -> {
+                    int nx = x[r] + DX[h[r]], ny = y[r] + DY[h[r]];
+                    if (!plateau.isBounds(nx, ny)) {
+                        if (!skip) stop(r, ExecutionResult.Fault.OUT_OF_BOUNDS, t + 1, nx, ny);
+                        return;
+                    }
+                    long cell = Occupancy.pack(nx, ny);
+                    if (occupied.contains(cell)) {
+                        if (!skip) stop(r, ExecutionResult.Fault.OCCUPIED, t + 1, nx, ny);
+                        return;
+                    }
+                    if (!claims.add(cell)) {
+                        contested.add(cell);
+                        contention = true;
+                    }
+                    target[r] = cell;
+                }
+                default -> Command.fromChar(c); // throws InputFormatException
+            }
+        }
+
+        /** Second phase: the winner of a claimed cell moves into it, the others are blocked. */
+        private void move(int r, int t) {
+            long cell = target[r];
+            if (cell < 0) return;
+            boolean shared = contention && contested.contains(cell);
+            int nx = x[r] + DX[h[r]], ny = y[r] + DY[h[r]];
+            if (shared && winners.get(cell) != r) {
+                if (!skip) stop(r, ExecutionResult.Fault.OCCUPIED, t + 1, nx, ny);
+                return;
+            }
+            if (inWindow(x[r], y[r])) occupied.remove(Occupancy.pack(x[r], y[r]));
+            occupied.add(cell);
+            x[r] = nx;
+            y[r] = ny;
+            if (!shared) claims.remove(cell); // contested claims are released once the phase is over
+        }
+
+        private void stop(int r, ExecutionResult.Fault kind, int s, int nx, int ny) {
+            state[r] = STOPPED;
+            fault[r] = kind;
+            step[r] = s;
+            ax[r] = nx;
+            ay[r] = ny;
+        }
+
+        /** Result of rover {@code r}, with its events; occupies its final cell. */
+        ExecutionResult report(int r, int roverId, Event logger) {
+            InputParser.RoverPlan plan = plans.get(r);
+            if (logger.isEnabled("ROVER_START", roverId))
+                logger.info("ROVER_START","start rover","roverId",roverId,"pos",plan.position(),"dir",plan.direction());
+            if (state[r] != STOPPED) return StepEngine.complete(roverId, x[r], y[r], h[r], plateau, logger);
+            if (step[r] == 0) {
+                var res = new ExecutionResult.Stopped(roverId, plan.position(), plan.direction(),
+                        ExecutionResult.Fault.OCCUPIED, 0, '-', plan.position());
+                logger.warn("FAULT","start on occupied","roverId",roverId,"fault",res.fault(),"step",0,"attempted",res.posAttempted());
+                return res;
+            }
+            return StepEngine.stop(roverId, x[r], y[r], h[r], fault[r], step[r], ax[r], ay[r], plateau, logger);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.Engine;
+
+import org.example.Exception.MissionAbortedException;
+import org.example.Model.ExecutionResult;
+import org.example.Model.Plateau;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+import org.example.metrics.RunMetrics;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs a whole mission with a named engine and {@link ExecutionPolicy}, between RUN_START and RUN_END,
+ * and hands every result to a sink in rover order once its terminal ROVER_COMPLETED / ROVER_STOPPED
+ * event has been logged.
+ * Shared by the command line and the mission server.
+ */
+public final class MissionRunner {
+    /** Sequential engines: interchangeable, they all give the same results. */
+    public static final List<String> ENGINES = List.of("step", "segment", "screened", "compiled", "parallel");
+    /** Simultaneous movement, see {@link LockstepRunner}; a different simulation, not another engine for it. */
+    public static final String LOCKSTEP = "lockstep";
+
+    private MissionRunner() {}
+
+    /** @return whether {@code name} is one of {@link #ENGINES} or {@link #LOCKSTEP} */
+    public static boolean isEngine(String name) {
+        return ENGINES.contains(name) || name.equals(LOCKSTEP);
+    }
+
+    /** @return number of rovers executed */
+    public static int run(InputParser.MissionReader mission, String engine, Event logger,
+                          Consumer<ExecutionResult> sink) {
+        return run(mission, engine, ExecutionPolicy.FAIL_FAST_PER_ROVER, logger, null, sink);
+    }
+
+    /**
+     * @param metrics records parse time, steps, faults and per-rover latency; {@code null} for none
+     * @throws MissionAbortedException in fail-fast mode, after the stopped rover has been handed to {@code sink}
+     */
+    public static int run(InputParser.MissionReader mission, String engine, ExecutionPolicy policy, Event logger,
+                          RunMetrics metrics, Consumer<ExecutionResult> sink) {
+        logger.info("RUN_START","begin","maxX",mission.plateau().maxX(),"maxY",mission.plateau().maxY());
+        try {
+            return execute(mission, mission.plateau(), 1, engine, policy, logger, metrics, sink);
+        } finally {
+            logger.info("RUN_END","end"); // also after an abort or an input error
+        }
+    }
+
+    public static int execute(Iterator<InputParser.RoverPlan> plans, Plateau plateau, int firstRoverId,
+                              String engine, Event logger, Consumer<ExecutionResult> sink) {
+        return execute(plans, plateau, firstRoverId, engine, ExecutionPolicy.FAIL_FAST_PER_ROVER, logger, null, sink);
+    }
+
+    /**
+     * Executes {@code plans} against a plateau that may already hold rovers, numbering them from
+     * {@code firstRoverId}; no RUN_START / RUN_END. With the parallel engine and lockstep, the latency
+     * recorded in {@code metrics} is the time between consecutive results, which includes the simulation.
+     * @return number of rovers executed
+     * @throws MissionAbortedException in fail-fast mode, after the stopped rover has been handed to {@code sink}
+     */
+    public static int execute(Iterator<InputParser.RoverPlan> plans, Plateau plateau, int firstRoverId,
+                              String engine, ExecutionPolicy policy, Event logger, RunMetrics metrics,
+                              Consumer<ExecutionResult> sink) {
+        final boolean abort = policy.abortsMission();
+        Consumer<ExecutionResult> report = res -> {
+            log(res, logger);
+            sink.accept(res);
+            if (abort && res instanceof ExecutionResult.Stopped s) {
+                logger.error("ABORT_MISSION","abort","roverId",s.roverId(),"fault",s.fault(),"step",s.stepIndex());
+                throw new MissionAbortedException(s);
+            }
+        };
+        if (metrics != null) plans = metrics.timed(plans);
+
+        if (engine.equals("parallel") || engine.equals(LOCKSTEP)) {
+            boolean skip = policy.skipsBlockedMoves();
+            Consumer<ExecutionResult> timed = report;
+            if (metrics != null) {
+                long[] last = {System.nanoTime()};
+                timed = res -> {
+                    long now = System.nanoTime();
+                    metrics.rover(res, now - last[0]);
+                    last[0] = now;
+                    report.accept(res);
+                };
+            }
+            return engine.equals(LOCKSTEP)
+                    ? LockstepRunner.run(plans, plateau, firstRoverId, skip, logger, timed)
+                    : ParallelRunner.run(plans, plateau, firstRoverId, skip, logger, timed);
+        }
+
+        RoverEngine roverEngine = policy.roverEngine(engine);
+        if (metrics != null && roverEngine instanceof CompiledEngine compiled)
+            metrics.programCache(compiled.cache()::hits, compiled.cache()::misses);
+        int roverId = firstRoverId - 1;
+        while (plans.hasNext()) {
+            InputParser.RoverPlan rsPlan = plans.next();
+            roverId++;
+            long t0 = metrics == null ? 0 : System.nanoTime();
+            ExecutionResult res = roverEngine.execute(roverId, rsPlan.position(), rsPlan.direction(),
+                    rsPlan.commands(), plateau, logger);
+            if (metrics != null) metrics.rover(res, System.nanoTime() - t0);
+            report.accept(res);
+        }
+        return roverId - firstRoverId + 1;
+    }
+
+    /** ROVER_STOPPED; the engines already log ROVER_COMPLETED when they occupy the final cell. */
+    private static void log(ExecutionResult res, Event logger) {
+        if (res instanceof ExecutionResult.Stopped s && logger.isEnabled("ROVER_STOPPED", s.roverId()))
+            logger.info("ROVER_STOPPED","stopped","roverId",s.roverId(),"pos",s.position(),"dir",s.direction());
+    }
+}
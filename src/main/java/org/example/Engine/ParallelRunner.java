@@ -0,0 +1,165 @@
+package org.example.Engine;
+
+import org.example.Model.*;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.example.Engine.StepEngine.DX;
+import static org.example.Engine.StepEngine.DY;
+import static org.example.Engine.StepEngine.HEADINGS;
+
+/**
+ * Runs a mission on all cores with the results of the sequential run, in fail-fast-per-rover or
+ * skip-step mode.
+ * <p>
+ * Plans are taken in windows. Every rover of a window is first simulated concurrently against the
+ * plateau bounds only, recording each cell its path enters (start cell included). A sequential pass
+ * then walks the window in rover order: a rover none of whose recorded cells is occupied by an
+ * earlier rover behaves exactly as simulated, so its result is accepted as is; any other rover is
+ * re-run against the real plateau. The sequential pass does one occupancy lookup per recorded cell
+ * and no command decoding. In skip-step mode the simulation skips out-of-bounds moves instead of
+ * stopping and re-runs use {@link SkippingSegmentEngine}; the argument is the same, since a path
+ * whose cells are all free never meets a blocked in-bounds move.
+ * <p>
+ * A rover with more than {@link #MAX_TRACE} commands is not simulated, its path would take 8 bytes
+ * per move; it is run by the sequential pass with the other re-runs.
+ * <p>
+ * Like {@link SegmentEngine}, only ROVER_START, FAULT and ROVER_COMPLETED are logged.
+ */
+public final class ParallelRunner {
+    /** Upper bound on rovers per window. */
+    static final int WINDOW_ROVERS = 4096;
+    /** Upper bound on commands per window, which bounds the memory held by recorded paths. */
+    static final long WINDOW_COMMANDS = 1L << 24;
+    /** Longest commands string simulated, which bounds the path recorded for one rover. */
+    static final int MAX_TRACE = 1 << 20;
+
+    private ParallelRunner() {}
+
+    /** Outcome of simulating one rover against the bounds alone; {@code cells} is null if it was not simulated. */
+    private record Trace(ExecutionResult result, long[] cells, int count, RuntimeException error) {}
+
+    private static final Trace NOT_SIMULATED = new Trace(null, null, 0, null);
+
+    /**
+     * @param sink receives every result, in rover order, once its final cell is occupied
+     * @return number of rovers executed
+     */
+    public static int run(Iterator<InputParser.RoverPlan> plans, Plateau plateau, Event logger,
+                          Consumer<ExecutionResult> sink) {
+        return run(plans, plateau, 1, logger, sink);
+    }
+
+    /** Same as {@link #run(Iterator, Plateau, Event, Consumer)}, numbering rovers from {@code firstRoverId}. */
+    public static int run(Iterator<InputParser.RoverPlan> plans, Plateau plateau, int firstRoverId, Event logger,
+                          Consumer<ExecutionResult> sink) {
+        return run(plans, plateau, firstRoverId, false, logger, sink);
+    }
+
+    /** @param skip skip-step instead of fail-fast-per-rover */
+    public static int run(Iterator<InputParser.RoverPlan> plans, Plateau plateau, int firstRoverId, boolean skip,
+                          Event logger, Consumer<ExecutionResult> sink) {
+        int roverId = firstRoverId - 1;
+        List<InputParser.RoverPlan> window = new ArrayList<>();
+        while (plans.hasNext()) {
+            window.clear();
+            long commands = 0;
+            RuntimeException parseError = null;
+            while (plans.hasNext() && window.size() < WINDOW_ROVERS && commands < WINDOW_COMMANDS) {
+                InputParser.RoverPlan plan;
+                try {
+                    plan = plans.next();
+                } catch (RuntimeException e) {
+                    parseError = e; // raised after the rovers before it, as a sequential run would
+                    break;
+                }
+                window.add(plan);
+                commands += plan.commands().length();
+            }
+
+            final int firstId = roverId + 1;
+            Trace[] traces = new Trace[window.size()];
+            IntStream.range(0, traces.length).parallel()
+                    .forEach(i -> traces[i] = simulate(firstId + i, window.get(i), plateau, skip));
+
+            for (int i = 0; i < traces.length; i++) {
+                roverId++;
+                sink.accept(resolve(roverId, window.get(i), traces[i], plateau, skip, logger));
+            }
+            if (parseError != null) throw parseError;
+        }
+        return roverId - firstRoverId + 1;
+    }
+
+    private static ExecutionResult resolve(int roverId, InputParser.RoverPlan plan, Trace trace,
+                                           Plateau plateau, boolean skip, Event logger) {
+        if (trace.cells() == null || crossesOccupied(trace, plateau)) {
+            // too long to record, or the path crosses an earlier rover's final cell: replay it for real
+            return skip
+                    ? SkippingSegmentEngine.execute(roverId, plan.position(), plan.direction(), plan.commands(), plateau, logger)
+                    : SegmentEngine.execute(roverId, plan.position(), plan.direction(), plan.commands(), plateau, logger);
+        }
+        if (trace.error() != null) throw trace.error();
+        ExecutionResult res = trace.result();
+        if (logger.isEnabled("ROVER_START", roverId))
+            logger.info("ROVER_START","start rover","roverId",roverId,"pos",plan.position(),"dir",plan.direction());
+        if (res instanceof ExecutionResult.Stopped s) {
+            logger.warn("FAULT","out of bounds","roverId",roverId,"fault",s.fault(),"step",s.stepIndex(),"attempted",s.posAttempted());
+        } else if (logger.isEnabled("ROVER_COMPLETED", roverId)) {
+            logger.info("ROVER_COMPLETED","completed","roverId",roverId,"pos",res.position(),"dir",res.direction());
+        }
+        plateau.occupy(res.position());
+        return res;
+    }
+
+    private static boolean crossesOccupied(Trace trace, Plateau plateau) {
+        for (int c = 0; c < trace.count(); c++) {
+            long cell = trace.cells()[c];
+            if (plateau.isOccupied(Occupancy.unpackX(cell), Occupancy.unpackY(cell))) return true;
+        }
+        return false;
+    }
+
+    /** Bounds-only run; reads nothing but the plateau size, so it is safe to call concurrently. */
+    private static Trace simulate(int roverId, InputParser.RoverPlan plan, Plateau plateau, boolean skip) {
+        CharSequence commands = plan.commands();
+        if (commands.length() > MAX_TRACE) return NOT_SIMULATED;
+        int x = plan.position().x(), y = plan.position().y(), h = plan.direction().ordinal();
+        long[] cells = new long[16];
+        int count = 0;
+        cells[count++] = Occupancy.pack(x, y);
+        try {
+            for (int i = 0, n = commands.length(); i < n; i++) {
+                char c = commands.charAt(i);
+                switch (c) {
+                    case 'L', 'l' -> h = StepEngine.left(h);
+                    case 'R', 'r' -> h = StepEngine.right(h);
+                    case 'M', 'm' -> {
+                        int nx = x + DX[h], ny = y + DY[h];
+                        if (!plateau.isBounds(nx, ny)) {
+                            if (skip) continue;
+                            var res = new ExecutionResult.Stopped(roverId, new Position(x, y), HEADINGS[h],
+                                    ExecutionResult.Fault.OUT_OF_BOUNDS, i + 1, 'M', new Position(nx, ny));
+                            return new Trace(res, cells, count, null);
+                        }
+                        x = nx;
+                        y = ny;
+                        if (count == cells.length) cells = Arrays.copyOf(cells, count << 1);
+                        cells[count++] = Occupancy.pack(x, y);
+                    }
+                    default -> Command.fromChar(c); // throws InputFormatException
+                }
+            }
+        } catch (RuntimeException e) {
+            return new Trace(null, cells, count, e);
+        }
+        return new Trace(new ExecutionResult.Completed(roverId, new Position(x, y), HEADINGS[h]), cells, count, null);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.Engine;
+
+import org.example.Model.Direction;
+import org.example.Model.Position;
+
+/**
+ * Where a command string takes a rover that nothing stops: the bounding box of every cell its
+ * path visits, its final cell and its final heading, computed in one pass over the commands.
+ * <p>
+ * The pass is branch-free per command: each character is looked up in a table giving its
+ * quarter turn, whether it moves and whether it is a command at all, and the box is kept with
+ * min/max. Random {@code L/R/M} streams defeat branch prediction, so this matters more than the
+ * arithmetic. A rover whose box lies within the plateau and holds no occupied cell (see
+ * {@link org.example.Model.Plateau#mayBeOccupied}) can neither leave the plateau nor meet another
+ * rover, so its final state is the summary's, without a single occupancy lookup.
+ */
+public final class PathSummary {
+    // per ASCII char: bits 0-1 quarter turns to the right, bit 2 move, bit 3 valid command
+    private static final byte[] CODE = new byte[128];
+    private static final int MOVE = 4, VALID = 8;
+
+    static {
+        CODE['L'] = CODE['l'] = VALID | 3;
+        CODE['R'] = CODE['r'] = VALID | 1;
+        CODE['M'] = CODE['m'] = VALID | MOVE;
+    }
+
+    public final int minX, maxX, minY, maxY;
+    public final int endX, endY;
+    public final Direction heading;
+
+    private PathSummary(int minX, int maxX, int minY, int maxY, int endX, int endY, Direction heading) {
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.endX = endX;
+        this.endY = endY;
+        this.heading = heading;
+    }
+
+    /**
+     * Summary of a rover starting at {@code start} facing {@code direction}, as long as its path
+     * stays within {@code [0, boundX] x [0, boundY]}.
+     * @return the summary, or {@code null} as soon as the path leaves those bounds, or if
+     * {@code commands} holds a character that is not a command
+     */
+    public static PathSummary of(CharSequence commands, Position start, Direction direction, int boundX, int boundY) {
+        int x = start.x(), y = start.y(), h = direction.ordinal();
+        if ((x | y | (boundX - x) | (boundY - y)) < 0) return null;
+        int minX = x, maxX = x, minY = y, maxY = y;
+        int invalid = 0;
+        for (int i = 0, n = commands.length(); i < n; i++) {
+            char c = commands.charAt(i);
+            if (c >= CODE.length) return null;
+            int code = CODE[c];
+            invalid |= ~code & VALID;
+            h = (h + code) & 3;
+            int move = (code >> 2) & 1;
+            x += StepEngine.DX[h] * move;
+            y += StepEngine.DY[h] * move;
+            // at most one cell past a bound per step, so no overflow before the check
+            if ((x | y | (boundX - x) | (boundY - y)) < 0) return null;
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+        if (invalid != 0) return null;
+        return new PathSummary(minX, maxX, minY, maxY, x, y, StepEngine.HEADINGS[h]);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.Engine;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of {@link CommandProgram}s, keyed by the 64-bit hash of the commands string
+ * and checked against the cached source on a hit. The bound is on the bytes held by all cached
+ * programs: 12 per move, one per command of the source and {@link #ENTRY_BYTES} of objects per
+ * entry; the least recently used programs are evicted first. Strings longer than {@link #MAX_LENGTH} commands are not compiled, they are rarely
+ * repeated and would each take a large share of the budget.
+ * <p>
+ * Not thread safe: one cache per run loop.
+ */
+public final class ProgramCache {
+    /** Longest commands string compiled. */
+    public static final int MAX_LENGTH = 1 << 16;
+    /** Default budget, in bytes. */
+    public static final long DEFAULT_BUDGET = 48L << 20;
+    /** Headers of a program and its two arrays, the map entry and its boxed key. */
+    static final int ENTRY_BYTES = 128;
+
+    private final long budget;
+    private final LinkedHashMap<Long, CommandProgram> programs = new LinkedHashMap<>(256, 0.75f, true);
+    private long held;
+    // single writer; volatile so that metrics can read them from another thread
+    private volatile long hits, misses, evictions;
+
+    public ProgramCache() {
+        this(DEFAULT_BUDGET);
+    }
+
+    /** @param budget bytes held by all cached programs together */
+    public ProgramCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * @return the program of {@code commands}, compiled on a miss, or {@code null} when it is too
+     * long or holds something else than {@code L/R/M}
+     */
+    CommandProgram get(CharSequence commands) {
+        if (commands.length() > MAX_LENGTH) return null;
+        long hash = CommandProgram.hash(commands);
+        CommandProgram program = programs.get(hash);
+        if (program != null && program.matches(commands)) {
+            hits++;
+            return program;
+        }
+        misses++;
+        program = CommandProgram.compile(commands);
+        if (program == null) return null;
+        CommandProgram replaced = programs.put(hash, program);
+        if (replaced != null) held -= size(replaced); // a collision: the newer string wins
+        held += size(program);
+        for (Iterator<Map.Entry<Long, CommandProgram>> lru = programs.entrySet().iterator(); held > budget && lru.hasNext(); ) {
+            CommandProgram old = lru.next().getValue();
+            if (old == program) continue;
+            held -= size(old);
+            lru.remove();
+            evictions++;
+        }
+        return program;
+    }
+
+    /** Bytes held by a cached program. */
+    private static long size(CommandProgram program) {
+        return 4L * program.moves.length + program.length() + ENTRY_BYTES;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long evictions() {
+        return evictions;
+    }
+
+    /** Programs currently cached. */
+    public int size() {
+        return programs.size();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.Engine;
+
+import org.example.Model.Direction;
+import org.example.Model.ExecutionResult;
+import org.example.Model.Plateau;
+import org.example.Model.Position;
+import org.example.log.Event;
+
+/**
+ * Runs one rover's commands against a plateau and occupies its final cell.
+ * Every engine returns the same {@link ExecutionResult} as {@link StepEngine} for the same input.
+ */
+@FunctionalInterface
+public interface RoverEngine {
+    ExecutionResult execute(int roverId, Position start, Direction direction,
+                            CharSequence commands, Plateau plateau, Event logger);
+}
@@ -0,0 +1,45 @@
+package org.example.Engine;
+
+import org.example.Model.*;
+import org.example.log.Event;
+
+/**
+ * Pre-screens each rover with its {@link PathSummary}: when the bounding box of its path lies
+ * within the plateau and {@link Plateau#mayBeOccupied} rules out every cell of it, nothing can
+ * stop the rover and it lands on the summary's final cell with no per-step occupancy lookup.
+ * Any other rover is handed to {@link StepEngine}, or {@link SkippingStepEngine} in skip-step
+ * mode, which gives the same results since a rover that is never blocked does the same thing
+ * under every policy. The screen costs one branch-free pass over the commands, cut short when the
+ * path leaves the plateau, and an O(log^2) index query, so it pays off when most rovers have no
+ * neighbour near their path, and costs up to one extra pass per rover on a crowded plateau.
+ * <p>
+ * Rovers that pass the screen log only ROVER_START and ROVER_COMPLETED, no per-step events.
+ */
+public final class ScreenedEngine {
+    private ScreenedEngine() {}
+
+    public static ExecutionResult execute(int roverId, Position start, Direction direction,
+                                          CharSequence commands, Plateau plateau, Event logger) {
+        ExecutionResult res = screened(roverId, start, direction, commands, plateau, logger);
+        return res != null ? res : StepEngine.execute(roverId, start, direction, commands, plateau, logger);
+    }
+
+    public static ExecutionResult executeSkipping(int roverId, Position start, Direction direction,
+                                                  CharSequence commands, Plateau plateau, Event logger) {
+        ExecutionResult res = screened(roverId, start, direction, commands, plateau, logger);
+        return res != null ? res : SkippingStepEngine.execute(roverId, start, direction, commands, plateau, logger);
+    }
+
+    /** @return the result of a rover whose path is clear, or {@code null} when it has to be executed */
+    private static ExecutionResult screened(int roverId, Position start, Direction direction,
+                                            CharSequence commands, Plateau plateau, Event logger) {
+        // null when the path leaves the plateau or holds a bad command: the engine reports it at its step
+        PathSummary path = PathSummary.of(commands, start, direction, plateau.maxX(), plateau.maxY());
+        // the box holds the start cell, so a free box also rules out a start on an occupied cell
+        if (path == null || plateau.mayBeOccupied(path.minX, path.minY, path.maxX, path.maxY)) return null;
+
+        if (logger.isEnabled("ROVER_START", roverId))
+            logger.info("ROVER_START","start rover","roverId",roverId,"pos",start,"dir",direction);
+        return StepEngine.complete(roverId, path.endX, path.endY, path.heading.ordinal(), plateau, logger);
+    }
+}
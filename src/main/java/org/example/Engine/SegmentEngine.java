@@ -0,0 +1,92 @@
+package org.example.Engine;
+
+import org.example.Model.*;
+import org.example.log.Event;
+
+import static org.example.Engine.StepEngine.DX;
+import static org.example.Engine.StepEngine.DY;
+import static org.example.Engine.StepEngine.HEADINGS;
+
+/**
+ * Fail-fast-per-rover execution that fast-forwards whole command segments. A run of
+ * {@code L/R} is folded into one net rotation and a run of {@code M} is a straight line whose
+ * end point, first out-of-bounds step and first occupied cell are computed in O(1) / O(log n)
+ * (see {@link Plateau#firstOccupiedAlong}). Simulation work is proportional to the number of
+ * segments; commands are still read once to find the segment boundaries.
+ * Only ROVER_START, FAULT and ROVER_COMPLETED are logged, there are no per-step events.
+ */
+public final class SegmentEngine {
+    private SegmentEngine() {}
+
+    public static ExecutionResult execute(int roverId, Position start, Direction direction,
+                                          CharSequence commands, Plateau plateau, Event logger) {
+        if (logger.isEnabled("ROVER_START", roverId))
+            logger.info("ROVER_START","start rover","roverId",roverId,"pos",start,"dir",direction);
+
+        if (plateau.isOccupied(start.x(), start.y())) {
+            var res = new ExecutionResult.Stopped(roverId, start, direction,
+                    ExecutionResult.Fault.OCCUPIED, 0, '-', start);
+            logger.warn("FAULT","start on occupied","roverId",roverId,"fault",res.fault(),"step",0,"attempted",start);
+            return res;
+        }
+
+        int x = start.x(), y = start.y(), h = direction.ordinal();
+        int i = 0, n = commands.length();
+        while (i < n) {
+            char c = commands.charAt(i);
+            if (c == 'M' || c == 'm') {
+                int j = i + 1;
+                while (j < n && isMove(commands.charAt(j))) j++;
+                int k = j - i;
+
+                int oob = firstOutOfBounds(x, y, h, k, plateau);
+                int free = oob == 0 ? k : oob - 1;
+                int occ = free > 0 ? plateau.firstOccupiedAlong(x, y, HEADINGS[h], free) : 0;
+                int t = occ != 0 ? occ : oob;
+                if (t != 0) {
+                    var fault = occ != 0 ? ExecutionResult.Fault.OCCUPIED : ExecutionResult.Fault.OUT_OF_BOUNDS;
+                    return StepEngine.stop(roverId, x + (t - 1) * DX[h], y + (t - 1) * DY[h], h, fault,
+                            i + t, x + t * DX[h], y + t * DY[h], plateau, logger);
+                }
+                x += k * DX[h];
+                y += k * DY[h];
+                i = j;
+            } else {
+                int turn = 0;
+                for (; i < n; i++) {
+                    c = commands.charAt(i);
+                    if (c == 'L' || c == 'l') turn += 3;
+                    else if (c == 'R' || c == 'r') turn += 1;
+                    else if (isMove(c)) break;
+                    else Command.fromChar(c); // throws InputFormatException
+                }
+                h = (h + turn) & 3;
+            }
+        }
+        return StepEngine.complete(roverId, x, y, h, plateau, logger);
+    }
+
+    private static boolean isMove(char c) {
+        return c == 'M' || c == 'm';
+    }
+
+    /**
+     * First step in {@code [1, k]} of a straight run from {@code (x, y)} heading {@code h} whose
+     * target is off the plateau, or {@code 0} if the run stays in bounds. The in-bounds part of a
+     * line is one interval, so this is a range comparison on each axis.
+     */
+    static int firstOutOfBounds(int x, int y, int h, int k, Plateau plateau) {
+        long along, limit, across, acrossLimit;
+        if (DX[h] != 0) {
+            along = x; limit = plateau.maxX(); across = y; acrossLimit = plateau.maxY();
+        } else {
+            along = y; limit = plateau.maxY(); across = x; acrossLimit = plateau.maxX();
+        }
+        if (across < 0 || across > acrossLimit) return 1;
+        int sign = DX[h] + DY[h];
+        long next = along + sign;
+        if (next < 0 || next > limit) return 1;
+        long fail = sign > 0 ? limit - along + 1 : along + 1;
+        return fail <= k ? (int) fail : 0;
+    }
+}
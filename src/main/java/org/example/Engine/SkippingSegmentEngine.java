@@ -0,0 +1,63 @@
+package org.example.Engine;
+
+import org.example.Model.*;
+import org.example.log.Event;
+
+import static org.example.Engine.StepEngine.DX;
+import static org.example.Engine.StepEngine.DY;
+import static org.example.Engine.StepEngine.HEADINGS;
+
+/**
+ * Skip-step execution by segments, same results as {@link SkippingStepEngine}. Within a run of
+ * {@code M} the heading is fixed, so once a move is blocked every later move of the run aims at
+ * the same blocked cell: the rover advances to the cell before the first blocked step, found as
+ * in {@link SegmentEngine}, and the rest of the run is skipped at once.
+ * Like {@link SegmentEngine}, only lifecycle events and FAULT are logged.
+ */
+public final class SkippingSegmentEngine {
+    private SkippingSegmentEngine() {}
+
+    public static ExecutionResult execute(int roverId, Position start, Direction direction,
+                                          CharSequence commands, Plateau plateau, Event logger) {
+        if (logger.isEnabled("ROVER_START", roverId))
+            logger.info("ROVER_START","start rover","roverId",roverId,"pos",start,"dir",direction);
+
+        if (plateau.isOccupied(start.x(), start.y())) {
+            var res = new ExecutionResult.Stopped(roverId, start, direction,
+                    ExecutionResult.Fault.OCCUPIED, 0, '-', start);
+            logger.warn("FAULT","start on occupied","roverId",roverId,"fault",res.fault(),"step",0,"attempted",start);
+            return res;
+        }
+
+        int x = start.x(), y = start.y(), h = direction.ordinal();
+        int i = 0, n = commands.length();
+        while (i < n) {
+            char c = commands.charAt(i);
+            if (c == 'M' || c == 'm') {
+                int j = i + 1;
+                while (j < n && (commands.charAt(j) == 'M' || commands.charAt(j) == 'm')) j++;
+                int k = j - i;
+
+                int oob = SegmentEngine.firstOutOfBounds(x, y, h, k, plateau);
+                int free = oob == 0 ? k : oob - 1;
+                int occ = free > 0 ? plateau.firstOccupiedAlong(x, y, HEADINGS[h], free) : 0;
+                int t = occ != 0 ? occ : oob;
+                int advance = t == 0 ? k : t - 1;
+                x += advance * DX[h];
+                y += advance * DY[h];
+                i = j;
+            } else {
+                int turn = 0;
+                for (; i < n; i++) {
+                    c = commands.charAt(i);
+                    if (c == 'L' || c == 'l') turn += 3;
+                    else if (c == 'R' || c == 'r') turn += 1;
+                    else if (c == 'M' || c == 'm') break;
+                    else Command.fromChar(c); // throws InputFormatException
+                }
+                h = (h + turn) & 3;
+            }
+        }
+        return StepEngine.complete(roverId, x, y, h, plateau, logger);
+    }
+}
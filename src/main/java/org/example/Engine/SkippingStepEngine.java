@@ -0,0 +1,75 @@
+package org.example.Engine;
+
+import org.example.Model.*;
+import org.example.log.Event;
+
+import static org.example.Engine.StepEngine.DX;
+import static org.example.Engine.StepEngine.DY;
+import static org.example.Engine.StepEngine.HEADINGS;
+
+/**
+ * Skip-step execution, step by step: a move that would leave the plateau or enter an occupied
+ * cell is ignored and the rover carries on with its next command, so every rover that starts on a
+ * free cell completes. The loop is {@link StepEngine}'s with the fault branches turned into skips;
+ * a skipped move is reported as a SKIPPED step event (gated and sampled like MOVE_OK) instead of
+ * a FAULT.
+ */
+public final class SkippingStepEngine {
+    private SkippingStepEngine() {}
+
+    public static ExecutionResult execute(int roverId, Position start, Direction direction,
+                                          CharSequence commands, Plateau plateau, Event logger) {
+        if (logger.isEnabled("ROVER_START", roverId))
+            logger.info("ROVER_START","start rover","roverId",roverId,"pos",start,"dir",direction);
+
+        // no earlier step to fall back to: a rover landing on an occupied cell still stops
+        if (plateau.isOccupied(start.x(), start.y())) {
+            var res = new ExecutionResult.Stopped(roverId, start, direction,
+                    ExecutionResult.Fault.OCCUPIED, 0, '-', start);
+            logger.warn("FAULT","start on occupied","roverId",roverId,"fault",res.fault(),"step",0,"attempted",start);
+            return res;
+        }
+
+        final boolean turns = logger.isEnabled("TURN", roverId);
+        final boolean attempts = logger.isEnabled("MOVE_ATTEMPT", roverId);
+        final boolean moves = logger.isEnabled("MOVE_OK", roverId);
+        final boolean skips = logger.isEnabled("SKIPPED", roverId);
+        final int sampling = logger.stepSampling(roverId);
+        int x = start.x(), y = start.y(), h = direction.ordinal();
+        for (int i = 0, n = commands.length(); i < n; i++) {
+            char c = commands.charAt(i);
+            int step = i + 1;
+            switch (c) {
+                case 'L', 'l' -> {
+                    h = StepEngine.left(h);
+                    if (turns && step % sampling == 0) logger.turn("turn left", roverId, step, HEADINGS[h]);
+                }
+                case 'R', 'r' -> {
+                    h = StepEngine.right(h);
+                    if (turns && step % sampling == 0) logger.turn("turn right", roverId, step, HEADINGS[h]);
+                }
+                case 'M', 'm' -> {
+                    int nx = x + DX[h], ny = y + DY[h];
+                    if (attempts && step % sampling == 0) logger.moveAttempt(roverId, step, x, y, nx, ny, HEADINGS[h]);
+
+                    if (!plateau.isBounds(nx, ny)) {
+                        if (skips && step % sampling == 0) skipped(roverId, ExecutionResult.Fault.OUT_OF_BOUNDS, step, nx, ny, logger);
+                    } else if (plateau.isOccupied(nx, ny)) {
+                        if (skips && step % sampling == 0) skipped(roverId, ExecutionResult.Fault.OCCUPIED, step, nx, ny, logger);
+                    } else {
+                        x = nx;
+                        y = ny;
+                        if (moves && step % sampling == 0) logger.moved(roverId, step, x, y, HEADINGS[h]);
+                    }
+                }
+                default -> Command.fromChar(c); // throws InputFormatException
+            }
+        }
+        return StepEngine.complete(roverId, x, y, h, plateau, logger);
+    }
+
+    private static void skipped(int roverId, ExecutionResult.Fault fault, int step, int nx, int ny, Event logger) {
+        logger.info("SKIPPED", fault == ExecutionResult.Fault.OUT_OF_BOUNDS ? "out of bounds" : "cell occupied",
+                "roverId",roverId,"fault",fault,"step",step,"attempted",new Position(nx, ny));
+    }
+}
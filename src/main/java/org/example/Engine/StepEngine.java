@@ -0,0 +1,98 @@
+package org.example.Engine;
+
+import org.example.Model.*;
+import org.example.log.Event;
+
+/**
+ * Fail-fast-per-rover execution on primitive state. x, y and the heading (as a
+ * {@link Direction} ordinal) live in locals for the whole run; {@link Position} and
+ * {@link ExecutionResult} objects are only built for the terminal state, and per-step
+ * events are only emitted when {@link Event#isEnabled} and {@link Event#stepSampling} say
+ * someone will read them, through the primitive {@link Event#turn}, {@link Event#moveAttempt}
+ * and {@link Event#moved}.
+ */
+public final class StepEngine {
+    static final Direction[] HEADINGS = Direction.values();
+    // indexed by Direction ordinal: N, E, S, W
+    static final int[] DX = {0, 1, 0, -1};
+    static final int[] DY = {1, 0, -1, 0};
+
+    private StepEngine() {}
+
+    static int left(int h) {
+        return (h + 3) & 3;
+    }
+
+    static int right(int h) {
+        return (h + 1) & 3;
+    }
+
+    public static ExecutionResult execute(int roverId, Position start, Direction direction,
+                                          CharSequence commands, Plateau plateau, Event logger) {
+        if (logger.isEnabled("ROVER_START", roverId))
+            logger.info("ROVER_START","start rover","roverId",roverId,"pos",start,"dir",direction);
+
+        //Initial position is an occupied cell => Stop immediately
+        if (plateau.isOccupied(start.x(), start.y())) {
+            var res = new ExecutionResult.Stopped(roverId, start, direction,
+                    ExecutionResult.Fault.OCCUPIED, 0, '-', start);
+            logger.warn("FAULT","start on occupied","roverId",roverId,"fault",res.fault(),"step",0,"attempted",start);
+            return res;
+        }
+
+        // decided once per rover, so disabled step events cost one branch per command
+        final boolean turns = logger.isEnabled("TURN", roverId);
+        final boolean attempts = logger.isEnabled("MOVE_ATTEMPT", roverId);
+        final boolean moves = logger.isEnabled("MOVE_OK", roverId);
+        final int sampling = logger.stepSampling(roverId);
+        int x = start.x(), y = start.y(), h = direction.ordinal();
+        for (int i = 0, n = commands.length(); i < n; i++) {
+            char c = commands.charAt(i);
+            int step = i + 1;
+            switch (c) {
+                case 'L', 'l' -> {
+                    h = left(h);
+                    if (turns && step % sampling == 0) logger.turn("turn left", roverId, step, HEADINGS[h]);
+                }
+                case 'R', 'r' -> {
+                    h = right(h);
+                    if (turns && step % sampling == 0) logger.turn("turn right", roverId, step, HEADINGS[h]);
+                }
+                case 'M', 'm' -> {
+                    int nx = x + DX[h], ny = y + DY[h];
+                    if (attempts && step % sampling == 0) logger.moveAttempt(roverId, step, x, y, nx, ny, HEADINGS[h]);
+
+                    if (!plateau.isBounds(nx, ny)) {
+                        return stop(roverId, x, y, h, ExecutionResult.Fault.OUT_OF_BOUNDS, step, nx, ny, plateau, logger);
+                    }
+                    if (plateau.isOccupied(nx, ny)) {
+                        return stop(roverId, x, y, h, ExecutionResult.Fault.OCCUPIED, step, nx, ny, plateau, logger);
+                    }
+                    x = nx;
+                    y = ny;
+                    if (moves && step % sampling == 0) logger.moved(roverId, step, x, y, HEADINGS[h]);
+                }
+                default -> Command.fromChar(c); // throws InputFormatException
+            }
+        }
+        return complete(roverId, x, y, h, plateau, logger);
+    }
+
+    static ExecutionResult.Stopped stop(int roverId, int x, int y, int h, ExecutionResult.Fault fault,
+                                        int step, int nx, int ny, Plateau plateau, Event logger) {
+        var res = new ExecutionResult.Stopped(roverId, new Position(x, y), HEADINGS[h],
+                fault, step, 'M', new Position(nx, ny));
+        logger.warn("FAULT", fault == ExecutionResult.Fault.OUT_OF_BOUNDS ? "out of bounds" : "cell occupied",
+                "roverId",roverId,"fault",fault,"step",step,"attempted",res.posAttempted());
+        plateau.occupy(x, y);
+        return res;
+    }
+
+    static ExecutionResult.Completed complete(int roverId, int x, int y, int h, Plateau plateau, Event logger) {
+        var res = new ExecutionResult.Completed(roverId, new Position(x, y), HEADINGS[h]);
+        if (logger.isEnabled("ROVER_COMPLETED", roverId))
+            logger.info("ROVER_COMPLETED","completed","roverId",roverId,"pos",res.position(),"dir",res.direction());
+        plateau.occupy(x, y);
+        return res;
+    }
+}
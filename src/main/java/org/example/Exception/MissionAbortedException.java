@@ -0,0 +1,22 @@
+package org.example.Exception;
+
+import org.example.Model.ExecutionResult;
+
+/** Raised in fail-fast mode once a rover has stopped on a fault; no later rover is executed. */
+public class MissionAbortedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    // results are not Serializable: a deserialized exception keeps only its message
+    private final transient ExecutionResult.Stopped stopped;
+
+    public MissionAbortedException(ExecutionResult.Stopped stopped) {
+        super("Mission aborted: rover #" + stopped.roverId() + " " + stopped.fault() + " at step " + stopped.stepIndex()
+                + " (" + stopped.posAttempted().x() + " " + stopped.posAttempted().y() + "), stopped at "
+                + stopped.position().x() + " " + stopped.position().y() + " " + stopped.direction().name());
+        this.stopped = stopped;
+    }
+
+    public ExecutionResult.Stopped stopped() {
+        return stopped;
+    }
+}
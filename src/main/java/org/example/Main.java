@@ -1,65 +1,345 @@
 package org.example;
 
+import org.example.Batch.BatchRunner;
+import org.example.Engine.MissionRunner;
 import org.example.Exception.InputFormatException;
+import org.example.Exception.MissionAbortedException;
 import org.example.Model.*;
+import org.example.Output.FleetStore;
+import org.example.Output.ResultSink;
 import org.example.Parser.InputParser;
+import org.example.Server.LoadTest;
+import org.example.Server.MissionServer;
+import org.example.Session.MissionCheckpoint;
+import org.example.Session.PlateauSession;
 import org.example.log.Event;
-import org.example.log.EventLogger;
+import org.example.log.JournalExporter;
+import org.example.metrics.RunMetrics;
 
-import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Entry point.
- * Usage: java -jar rover.jar input.txt
- * TODO: [--mode=fail-fast|fail-fast-per-rover|skip-step]
+ * Usage: java -jar rover.jar input.txt [--engine=step|segment|screened|compiled|parallel|lockstep] [--mode=fail-fast|fail-fast-per-rover|skip-step]
+ *        [--results=text|ndjson|binary] [--parse-threads=N] [--session=snapshot]
+ *        [--checkpoint=file [--checkpoint-every=N] [--resume]] [--metrics=file|-] [--fleet[=x0,y0,x1,y1]]
+ *        [--events=file|-] [--journal=file]
+ *        [--log-types=FAULT,ROVER_*] [--log-every=N] [--log-rovers=ids]
+ *        java -jar rover.jar serve [--port=8080] [--max-requests=N] [--max-body-mb=N] [--max-response-mb=N] [--engine=...] [logging options]
+ *        java -jar rover.jar batch dir|'glob' [--out=dir|--merged=file|-] [--threads=N] [--in-flight-mb=N] [--engine=...] [--mode=...]
+ *        java -jar rover.jar loadtest url mission [--concurrency=N] [--requests=N]
+ *        java -jar rover.jar export-journal journal [out.ndjson]
  */
 public class Main {
     public static void main(String[] args) throws IOException {
-        if (args.length < 1) {
-            System.err.println("Usage: java -jar rover.jar <input.txt>");
-            System.exit(1);
+        if (args.length > 0 && args[0].equals("export-journal")) {
+            exportJournal(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("serve")) {
+            serve(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("batch")) {
+            batch(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("loadtest")) {
+            loadTest(Arrays.copyOfRange(args, 1, args.length));
+            return;
         }
 
-        Path inputFile = Path.of(args[0]);
+        Options options = null;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            usage(e);
+        }
+
+        Path inputFile = options.input;
         InputParser parser = new InputParser();
-        InputParser.Mission mission = null;
+
+        RunMetrics metrics = options.metrics == null ? null : new RunMetrics().publish();
+        FleetStore fleet = options.fleet ? new FleetStore() : null;
+        int status = 0;
+        FileChannel stdout = new FileOutputStream(FileDescriptor.out).getChannel();
         try {
-            mission = parser.parser(inputFile);
-        } catch (IOException e) {
+            MissionCheckpoint.State from = options.resume ? resumePoint(options, stdout) : null;
+            //Rovers are executed as soon as their plan is parsed, commands are read in place from the mapped file
+            try (InputParser.MissionReader mission = from == null ? parser.map(inputFile, options.parseThreads)
+                         : parser.map(inputFile, options.parseThreads, from.inputOffset(), from.rovers());
+                 Event logger = options.openLogger();
+                 ResultSink results = ResultSink.open(options.results, stdout, false, from != null && from.resultBytes() > 0)) {
+                if (metrics != null) {
+                    metrics.parsedBytes(mission::bytesConsumed);
+                    metrics.occupiedCells(mission.plateau()::occupiedCount);
+                    if (options.asyncLogger != null) metrics.eventQueueDepth(options.asyncLogger::queueDepth);
+                }
+                Consumer<ExecutionResult> sink = fleet == null ? results : results.andThen(fleet);
+                if (options.session != null) runSession(mission, options, logger, metrics, sink);
+                else if (options.checkpoint != null) runCheckpointed(mission, from, options, logger, metrics, results, sink);
+                else MissionRunner.run(mission, options.engine, options.mode, logger, metrics, sink);
+            }
+        } catch (MissionAbortedException e) {
+            System.err.println(e.getMessage());
+            status = 3;
+        } catch (IOException | UncheckedIOException e) {
             System.err.println("I/O error: " + e.getMessage());
-            System.exit(1);
+            status = 1;
         } catch (InputFormatException e) {
             System.err.println("Input error: " + e.getMessage());
-            System.exit(2);
-        }
-
-        //Rovers execution
-        try (Event logger = new EventLogger()){
-            logger.info("RUN_START","begin","maxX",mission.plateau().maxX(),"maxY",mission.plateau().maxY());
-            int roverId = 0;
-            for (InputParser.RoverPlan rsPlan : mission.roverPlans()) {
-                roverId++;
-                Rover rover = new Rover(roverId, rsPlan.position(), rsPlan.direction());
-                ExecutionResult res = rover.executeWithFailFastPerRoverMode(rsPlan.commands(), mission.plateau(), logger);
-
-                if (res instanceof ExecutionResult.Completed c) {
-//                    mission.plateau().occupy(c.position()); // final cell becomes occupied
-                    logger.info("ROVER_COMPLETED","completed","roverId",c.roverId(),"pos",c.position(),"dir",c.direction());
-                    System.out.println(c.position().x() + " " + c.position().y() + " " + c.direction().name());
-                } else if (res instanceof ExecutionResult.Stopped s) {
-//                    mission.plateau().occupy(s.position()); // stopped rover still occupies its last valid position
-                    logger.info("ROVER_STOPPED","stopped","roverId",s.roverId(),"pos",s.position(),"dir",s.direction());
-                    System.out.println(s.position().x() + " " + s.position().y() + " " + s.direction().name());
+            status = 2;
+        }
+        if (metrics != null) writeMetrics(metrics, options.metrics);
+        if (fleet != null) writeFleet(fleet, options.fleetArea);
+        System.exit(status);
+    }
+
+    /**
+     * {@code --fleet}: summary of the rovers run on stderr and, with {@code --fleet=x0,y0,x1,y1}, the
+     * number of rovers whose final cell is in that area and the ids of the first hundred.
+     */
+    private static void writeFleet(FleetStore fleet, int[] area) {
+        System.err.println("Fleet: " + fleet.summary());
+        if (area == null) return;
+        StringBuilder ids = new StringBuilder();
+        int[] listed = new int[1];
+        long found = fleet.forEachIn(area[0], area[1], area[2], area[3], id -> {
+            if (listed[0]++ < 100) ids.append(ids.isEmpty() ? "" : " ").append(id);
+        });
+        System.err.println("In [" + area[0] + ", " + area[2] + "] x [" + area[1] + ", " + area[3] + "]: " + found
+                + " rovers" + (found == 0 ? "" : ": " + ids + (found > 100 ? " ..." : "")));
+    }
+
+    /** {@code --metrics}: JSON summary to a file, or to stderr for {@code -}. */
+    private static void writeMetrics(RunMetrics metrics, String target) {
+        metrics.close();
+        try {
+            if (target.equals("-")) {
+                metrics.writeSummary(System.err);
+                System.err.flush();
+            } else {
+                try (OutputStream out = Files.newOutputStream(Path.of(target))) {
+                    metrics.writeSummary(out);
                 }
             }
-            logger.info("RUN_END","end");
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+        }
+    }
+
+    /** {@code export-journal <journal> [out.ndjson]}: binary journal to NDJSON, on stdout by default. */
+    private static void exportJournal(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: java -jar rover.jar export-journal <journal> [out.ndjson]");
+            System.exit(1);
+        }
+        try (WritableByteChannel out = args.length == 3
+                ? FileChannel.open(Path.of(args[2]), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)
+                : Channels.newChannel(new FileOutputStream(FileDescriptor.out))) {
+            JournalExporter.export(Path.of(args[1]), out);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            System.exit(1);
         }
         System.exit(0);
     }
 
+    /**
+     * {@code serve [--port=8080] [--max-requests=N] [--max-body-mb=N] [--max-response-mb=N] [--engine=...] [logging options]}:
+     * runs until the process is stopped.
+     * The HTTP dispatcher thread keeps the JVM alive after main returns.
+     */
+    private static void serve(String[] args) throws IOException {
+        Options options = null;
+        try {
+            options = Options.parseServer(args);
+        } catch (IllegalArgumentException e) {
+            usage(e);
+        }
+        // headers and body are written separately: without TCP_NODELAY every keep-alive response
+        // waits out the client's delayed ACK (~40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        Event logger = options.openLogger();
+        MissionServer server;
+        try {
+            server = MissionServer.start(new InetSocketAddress(options.port), options.engine, logger, options.limits);
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            logger.close();
+            System.exit(1);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            logger.close();
+        }, "mission-server-shutdown"));
+        System.err.println("Serving missions on http://localhost:" + server.port() + "/missions");
+    }
+
+    /**
+     * {@code batch <dir>|<glob> [--out=<dir>|--merged=<file>|-] ...}: every mission of a directory or glob in
+     * this JVM, see {@link BatchRunner}. Failed missions are reported on stderr; the exit code is the one
+     * of the first failed mission, in mission order.
+     */
+    private static void batch(String[] args) throws IOException {
+        Options options = null;
+        try {
+            options = Options.parseBatch(args);
+        } catch (IllegalArgumentException e) {
+            usage(e);
+        }
+        int status = 0;
+        try (Event logger = options.openLogger()) {
+            List<Path> missions = BatchRunner.missions(options.missions);
+            BatchRunner runner = new BatchRunner(options.engine, options.mode, logger, options.threads,
+                    options.inFlightBytes);
+            List<BatchRunner.Result> results;
+            if (options.out != null) {
+                results = runner.run(missions, options.out);
+            } else if (options.merged == null || options.merged.equals("-")) {
+                OutputStream out = new FileOutputStream(FileDescriptor.out);
+                results = runner.run(missions, out);
+            } else {
+                try (OutputStream out = Files.newOutputStream(Path.of(options.merged))) {
+                    results = runner.run(missions, out);
+                }
+            }
+            int failed = 0;
+            for (BatchRunner.Result res : results) {
+                if (res.status() == 0) continue;
+                System.err.println(res.mission() + ": " + res.error());
+                if (failed++ == 0) status = res.status();
+            }
+            System.err.println(results.size() + " missions, " + failed + " failed");
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            status = 1;
+        } catch (InterruptedException e) {
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    /** {@code loadtest <url> <mission> [--concurrency=N] [--requests=N]}: latency and throughput against a server. */
+    private static void loadTest(String[] args) {
+        URI url = null;
+        Path mission = null;
+        int concurrency = 16, requests = 1000;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--concurrency=")) concurrency = Integer.parseInt(arg.substring(14));
+                else if (arg.startsWith("--requests=")) requests = Integer.parseInt(arg.substring(11));
+                else if (url == null) url = URI.create(arg);
+                else if (mission == null) mission = Path.of(arg);
+                else throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            if (mission == null) throw new IllegalArgumentException("Missing server url or mission file");
+            if (concurrency <= 0 || requests <= 0)
+                throw new IllegalArgumentException("--concurrency and --requests must be positive");
+        } catch (IllegalArgumentException e) {
+            usage(e);
+        }
+        try {
+            LoadTest.run(url, mission, concurrency, requests).print(System.out);
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * {@code --session=<snapshot>}: the mission's rovers land on the plateau saved in the snapshot, after
+     * its rovers, and the snapshot is updated; a missing snapshot starts a new session.
+     */
+    private static void runSession(InputParser.MissionReader mission, Options options, Event logger,
+                                   RunMetrics metrics, Consumer<ExecutionResult> results) throws IOException {
+        Plateau plateau = mission.plateau();
+        PlateauSession session = Files.exists(options.session)
+                ? PlateauSession.load(options.session, options.engine, logger)
+                : new PlateauSession(plateau, options.engine, logger);
+        if (session.maxX() != plateau.maxX() || session.maxY() != plateau.maxY())
+            throw new InputFormatException("Plateau line does not match the session: " + session.maxX() + " " + session.maxY());
+        logger.info("RUN_START","begin","maxX",plateau.maxX(),"maxY",plateau.maxY());
+        try {
+            session.submit(mission, options.mode, metrics, results);
+        } finally {
+            session.save(options.session); // keep the rovers that landed before an input error
+            logger.info("RUN_END","end");
+        }
+    }
+
+    /**
+     * {@code --resume}: the last checkpoint of {@code --checkpoint}, or {@code null} to start from the
+     * first rover when there is none. Stdout is cut back to the results of the checkpoint when it is a
+     * file (redirected with {@code >>}), so that it ends up the same as after an uninterrupted run.
+     */
+    private static MissionCheckpoint.State resumePoint(Options options, FileChannel stdout) throws IOException {
+        MissionCheckpoint.State from = MissionCheckpoint.load(options.checkpoint);
+        if (from == null) return null;
+        if (from.inputSize() != Files.size(options.input))
+            throw new IOException("checkpoint " + options.checkpoint + " is not one of " + options.input);
+        if (from.format() != options.results)
+            throw new IOException("checkpoint " + options.checkpoint + " was written with --results=" + from.format().name);
+        if (MissionCheckpoint.rewind(stdout, from.resultBytes()))
+            System.err.println("Resuming after rover #" + from.rovers());
+        else
+            System.err.println("Resuming after rover #" + from.rovers() + ", only the results after it are written");
+        return from;
+    }
+
+    /**
+     * {@code --checkpoint=<file>}: a checkpoint every {@code --checkpoint-every} rovers, see
+     * {@link MissionCheckpoint}, starting after the rovers of {@code from} unless it is {@code null}.
+     * The checkpoint files are removed once the mission has run to its end. Results go to
+     * {@code sink}, which writes them to {@code results}.
+     */
+    private static void runCheckpointed(InputParser.MissionReader mission, MissionCheckpoint.State from,
+                                        Options options, Event logger, RunMetrics metrics,
+                                        ResultSink results, Consumer<ExecutionResult> sink) throws IOException {
+        Plateau plateau = mission.plateau();
+        if (from != null) MissionCheckpoint.restore(options.checkpoint, from, plateau);
+        try (MissionCheckpoint checkpoint = new MissionCheckpoint(options.checkpoint, options.checkpointEvery,
+                mission, results, options.results, Files.size(options.input), from)) {
+            logger.info("RUN_START","begin","maxX",plateau.maxX(),"maxY",plateau.maxY());
+            try {
+                MissionRunner.execute(mission, plateau, checkpoint.roverCount() + 1, options.engine, options.mode,
+                        logger, metrics, res -> {
+                            sink.accept(res);
+                            checkpoint.accept(res);
+                        });
+            } finally {
+                logger.info("RUN_END","end");
+            }
+            results.flush();
+            checkpoint.finish();
+        }
+    }
+
+    private static void usage(IllegalArgumentException e) {
+        System.err.println(e.getMessage());
+        System.err.println(Options.USAGE);
+        System.exit(1);
+    }
+
 }
\ No newline at end of file
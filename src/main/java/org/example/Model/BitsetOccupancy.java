@@ -0,0 +1,53 @@
+package org.example.Model;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Dense occupancy for a {@code width x height} grid: one bit per cell in a {@code long[]},
+ * cell {@code (x, y)} at bit {@code y * width + x}. Coordinates must be inside the grid.
+ */
+public final class BitsetOccupancy implements Occupancy {
+    private final int width;
+    private final long[] words;
+    private long size;
+
+    public BitsetOccupancy(int width, int height) {
+        long cells = (long) width * height;
+        if (width <= 0 || height <= 0 || ((cells + 63) >>> 6) > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("grid too large for a bitset: " + width + "x" + height);
+        this.width = width;
+        this.words = new long[(int) ((cells + 63) >>> 6)];
+    }
+
+    @Override
+    public boolean contains(int x, int y) {
+        long bit = (long) y * width + x;
+        return (words[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    @Override
+    public void add(int x, int y) {
+        long bit = (long) y * width + x;
+        int w = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        if ((words[w] & mask) == 0) {
+            words[w] |= mask;
+            size++;
+        }
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        for (int w = 0; w < words.length; w++) {
+            for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                long bit = ((long) w << 6) + Long.numberOfTrailingZeros(bits);
+                action.accept(Occupancy.pack((int) (bit % width), (int) (bit / width)));
+            }
+        }
+    }
+}
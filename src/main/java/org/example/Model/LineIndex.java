@@ -0,0 +1,154 @@
+package org.example.Model;
+
+import java.util.Arrays;
+
+/**
+ * Occupied cells sorted per row and per column, to find the first occupied cell on a straight
+ * run in O(log n) instead of probing every cell of the run.
+ * <p>
+ * Each axis is one sorted set of {@code (line, position)} keys packed into a {@code long}, so that
+ * the cells of a line are consecutive and a lookup is a ceiling or floor search. The set is a list
+ * of sorted blocks of primitive longs: about 11 bytes per cell and axis, no boxing, and an
+ * allocation only when a block splits.
+ */
+final class LineIndex {
+    private final Axis rows = new Axis(); // (y, x)
+    private final Axis cols = new Axis(); // (x, y)
+
+    void add(int x, int y) {
+        rows.add(key(y, x));
+        cols.add(key(x, y));
+    }
+
+    /**
+     * @return the smallest {@code t} in {@code [1, maxSteps]} such that {@code (x, y) + t * d} is
+     * occupied, or {@code 0} when the run is free
+     */
+    int firstAlong(int x, int y, Direction d, int maxSteps) {
+        if (maxSteps <= 0) return 0;
+        long t;
+        switch (d) {
+            case N -> {
+                if (y == Integer.MAX_VALUE) return 0;
+                long hit = cols.ceiling(key(x, y + 1));
+                t = hit == Axis.NO_CEILING || line(hit) != x ? 0 : (long) position(hit) - y;
+            }
+            case S -> {
+                if (y == Integer.MIN_VALUE) return 0;
+                long hit = cols.floor(key(x, y - 1));
+                t = hit == Axis.NO_FLOOR || line(hit) != x ? 0 : (long) y - position(hit);
+            }
+            case E -> {
+                if (x == Integer.MAX_VALUE) return 0;
+                long hit = rows.ceiling(key(y, x + 1));
+                t = hit == Axis.NO_CEILING || line(hit) != y ? 0 : (long) position(hit) - x;
+            }
+            case W -> {
+                if (x == Integer.MIN_VALUE) return 0;
+                long hit = rows.floor(key(y, x - 1));
+                t = hit == Axis.NO_FLOOR || line(hit) != y ? 0 : (long) x - position(hit);
+            }
+            default -> throw new IllegalStateException();
+        }
+        return t <= maxSteps ? (int) t : 0;
+    }
+
+    // the position's sign bit is flipped so that keys of a line sort in signed position order
+    private static long key(int line, int position) {
+        return (long) line << 32 | (position ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    private static int line(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int position(long key) {
+        return (int) key ^ Integer.MIN_VALUE;
+    }
+
+    /** Sorted set of longs in blocks of at most {@value #BLOCK}. */
+    private static final class Axis {
+        static final int BLOCK = 1024;
+        // never the answer to a query of firstAlong(): it asks for the ceiling of a key above the
+        // smallest one and the floor of a key below the largest one
+        static final long NO_CEILING = Long.MIN_VALUE, NO_FLOOR = Long.MAX_VALUE;
+
+        private long[][] blocks = new long[4][];
+        private int[] sizes = new int[4];
+        private long[] firsts = new long[4];
+        private int count;
+
+        void add(long key) {
+            if (count == 0) {
+                blocks[0] = new long[BLOCK];
+                blocks[0][0] = key;
+                sizes[0] = 1;
+                firsts[0] = key;
+                count = 1;
+                return;
+            }
+            int b = blockOf(key);
+            if (b < 0) b = 0;
+            long[] block = blocks[b];
+            int size = sizes[b];
+            int i = Arrays.binarySearch(block, 0, size, key);
+            if (i >= 0) return;
+            i = -i - 1;
+            if (size == BLOCK) {
+                split(b);
+                if (i > BLOCK / 2) {
+                    b++;
+                    i -= BLOCK / 2;
+                }
+                block = blocks[b];
+                size = sizes[b];
+            }
+            System.arraycopy(block, i, block, i + 1, size - i);
+            block[i] = key;
+            sizes[b] = size + 1;
+            firsts[b] = block[0];
+        }
+
+        /** Smallest key {@code >= key}, or {@link #NO_CEILING}. */
+        long ceiling(long key) {
+            if (count == 0) return NO_CEILING;
+            int b = Math.max(0, blockOf(key));
+            int i = Arrays.binarySearch(blocks[b], 0, sizes[b], key);
+            if (i < 0) i = -i - 1;
+            if (i < sizes[b]) return blocks[b][i];
+            return b + 1 < count ? firsts[b + 1] : NO_CEILING;
+        }
+
+        /** Largest key {@code <= key}, or {@link #NO_FLOOR}. */
+        long floor(long key) {
+            int b = blockOf(key);
+            if (b < 0) return NO_FLOOR;
+            int i = Arrays.binarySearch(blocks[b], 0, sizes[b], key);
+            return i >= 0 ? key : blocks[b][-i - 2]; // the block's first key is <= key
+        }
+
+        /** Last block whose first key is {@code <= key}, or {@code -1}. */
+        private int blockOf(long key) {
+            int i = Arrays.binarySearch(firsts, 0, count, key);
+            return i >= 0 ? i : -i - 2;
+        }
+
+        private void split(int b) {
+            if (count == blocks.length) {
+                blocks = Arrays.copyOf(blocks, count * 2);
+                sizes = Arrays.copyOf(sizes, count * 2);
+                firsts = Arrays.copyOf(firsts, count * 2);
+            }
+            System.arraycopy(blocks, b + 1, blocks, b + 2, count - b - 1);
+            System.arraycopy(sizes, b + 1, sizes, b + 2, count - b - 1);
+            System.arraycopy(firsts, b + 1, firsts, b + 2, count - b - 1);
+            long[] upper = new long[BLOCK];
+            System.arraycopy(blocks[b], BLOCK / 2, upper, 0, BLOCK / 2);
+            blocks[b + 1] = upper;
+            sizes[b + 1] = BLOCK / 2;
+            firsts[b + 1] = upper[0];
+            sizes[b] = BLOCK / 2;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.Model;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Sparse occupancy: open-addressing hash set of packed {@code (x, y)} longs with linear probing.
+ * Accepts any coordinates, memory grows with the number of occupied cells only.
+ */
+public final class LongHashOccupancy implements Occupancy {
+    private static final long EMPTY = 0L; // packed (0, 0) is tracked by containsZero
+    private long[] keys;
+    private int mask;
+    private int shift;
+    private int count;
+    private boolean containsZero;
+
+    public LongHashOccupancy() {
+        this(16);
+    }
+
+    public LongHashOccupancy(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(capacity - 1L);
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+    }
+
+    @Override
+    public boolean contains(int x, int y) {
+        long key = Occupancy.pack(x, y);
+        if (key == EMPTY) return containsZero;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) return true;
+            if (k == EMPTY) return false;
+        }
+    }
+
+    @Override
+    public void add(int x, int y) {
+        long key = Occupancy.pack(x, y);
+        if (key == EMPTY) {
+            containsZero = true;
+            return;
+        }
+        if (insert(key) && ++count * 2 > keys.length) grow();
+    }
+
+    private boolean insert(long key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) return false;
+            if (k == EMPTY) {
+                keys[i] = key;
+                return true;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] old = keys;
+        allocate(old.length << 1);
+        for (long k : old) if (k != EMPTY) insert(k);
+    }
+
+    @Override
+    public long size() {
+        return count + (containsZero ? 1 : 0);
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        if (containsZero) action.accept(EMPTY);
+        for (long k : keys) if (k != EMPTY) action.accept(k);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.Model;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Set of occupied cells. Implementations work on primitive coordinates so a lookup on the
+ * rover hot path neither boxes nor allocates.
+ */
+public interface Occupancy {
+    boolean contains(int x, int y);
+
+    void add(int x, int y);
+
+    /** Number of distinct occupied cells. */
+    long size();
+
+    /** Visit every occupied cell as a packed key, see {@link #pack}. */
+    void forEach(LongConsumer action);
+
+    static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    static int unpackX(long key) {
+        return (int) (key >> 32);
+    }
+
+    static int unpackY(long key) {
+        return (int) key;
+    }
+}
@@ -2,33 +2,116 @@ package org.example.Model;
 
 import org.example.Exception.InputFormatException;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.function.LongConsumer;
 
 public final class Plateau {
+    /** Largest grid (in cells) that gets a dense bitset, 2^27 cells = 16 MiB. Bigger plateaus use bitmap tiles. */
+    static final long DENSE_MAX_CELLS = 1L << 27;
+
     private final int maxX, maxY;
-    private final Set<Position> occupied = new HashSet<>();
+    private final Occupancy occupied;
+    // cells outside the bounds (a rover may be placed off the plateau), created on first use
+    private Occupancy outside;
+    // per-row/column view of the occupied cells, built on the first interval query
+    private LineIndex lines;
+    // per-block counts of the in-bounds occupied cells, built on the first rectangle query
+    private RegionIndex regions;
+
     public Plateau(int maxX, int maxY) throws InputFormatException {
+        this(maxX, maxY, null);
+    }
+
+    /**
+     * @param occupancy in-bounds occupancy to use, or {@code null} to pick one from the plateau size
+     */
+    public Plateau(int maxX, int maxY, Occupancy occupancy) throws InputFormatException {
         if (maxX < 0 || maxY < 0) {
             throw new InputFormatException("Plateau size must be non-negative");
         }
         this.maxX = maxX;
         this.maxY = maxY;
+        this.occupied = occupancy != null ? occupancy : defaultOccupancy(maxX, maxY);
+    }
+
+    static Occupancy defaultOccupancy(int maxX, int maxY) {
+        long cells = (maxX + 1L) * (maxY + 1L);
+        if (cells <= DENSE_MAX_CELLS) return new BitsetOccupancy(maxX + 1, maxY + 1);
+        return new TiledOccupancy();
     }
 
     public boolean isBounds(Position p){
-        return p.x() >= 0 && p.x() <= maxX && p.y() >= 0 && p.y() <=maxY;
+        return isBounds(p.x(), p.y());
+    }
+
+    public boolean isBounds(int x, int y) {
+        return x >= 0 && x <= maxX && y >= 0 && y <= maxY;
     }
 
     public int maxX(){return maxX;}
     public int maxY(){return maxY;}
 
     public boolean isOccupied(Position p) {
-        return occupied.contains(p);
+        return isOccupied(p.x(), p.y());
+    }
+
+    public boolean isOccupied(int x, int y) {
+        if (isBounds(x, y)) return occupied.contains(x, y);
+        return outside != null && outside.contains(x, y);
     }
 
     public void occupy(Position p) {
-        occupied.add(p);
+        occupy(p.x(), p.y());
+    }
+
+    public void occupy(int x, int y) {
+        if (isBounds(x, y)) {
+            if (regions != null && !occupied.contains(x, y)) regions.add(x, y);
+            occupied.add(x, y);
+        } else {
+            if (outside == null) outside = new LongHashOccupancy();
+            outside.add(x, y);
+        }
+        if (lines != null) lines.add(x, y);
+    }
+
+    /**
+     * First occupied cell on the straight run of {@code maxSteps} cells leaving {@code (x, y)}
+     * towards {@code d}, the start cell excluded.
+     * @return its distance from {@code (x, y)}, or {@code 0} if the whole run is free
+     */
+    public int firstOccupiedAlong(int x, int y, Direction d, int maxSteps) {
+        if (lines == null) {
+            LineIndex index = new LineIndex();
+            forEachOccupied(k -> index.add(Occupancy.unpackX(k), Occupancy.unpackY(k)));
+            lines = index;
+        }
+        return lines.firstAlong(x, y, d, maxSteps);
+    }
+
+    /**
+     * Pre-screens a rectangle of the plateau, e.g. the bounding box of a rover's path, see
+     * {@link RegionIndex}. Corners must be in bounds with {@code x0 <= x1} and {@code y0 <= y1}.
+     * @return {@code false} if no cell of {@code [x0, x1] x [y0, y1]} is occupied; {@code true} if
+     * one is, or may be
+     */
+    public boolean mayBeOccupied(int x0, int y0, int x1, int y1) {
+        if (regions == null) {
+            RegionIndex index = new RegionIndex(maxX, maxY);
+            occupied.forEach(k -> index.add(Occupancy.unpackX(k), Occupancy.unpackY(k)));
+            regions = index;
+        }
+        return regions.mayBeOccupied(x0, y0, x1, y1);
+    }
+
+    /** Visit every occupied cell, on and off the plateau, as a packed key (see {@link Occupancy#pack}). */
+    public void forEachOccupied(LongConsumer action) {
+        occupied.forEach(action);
+        if (outside != null) outside.forEach(action);
+    }
+
+    /** Number of occupied cells, on and off the plateau. */
+    public long occupiedCount() {
+        return occupied.size() + (outside == null ? 0 : outside.size());
     }
 
 }
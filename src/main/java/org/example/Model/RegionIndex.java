@@ -0,0 +1,60 @@
+package org.example.Model;
+
+/**
+ * Occupied cell counts per block of the plateau in a 2D Fenwick tree, to answer "is any cell of
+ * this rectangle occupied?" in O(log^2) without touching the cells.
+ * <p>
+ * Blocks are {@code 2^shiftX x 2^shiftY} cells, at least 8 x 8, sized so that neither axis has
+ * more than {@value #MAX_BLOCKS} blocks, which keeps the tree at most 4 MiB even on a
+ * {@code 2^31 x 2^31} plateau. The answer is per block: a rectangle is reported free only when
+ * every block it touches is empty, so a rectangle sharing a block with an occupied cell may be
+ * reported occupied while it is not.
+ */
+final class RegionIndex {
+    static final int MIN_SHIFT = 3;
+    static final int MAX_BLOCKS = 1024;
+
+    private final int shiftX, shiftY;
+    private final int width, height; // blocks
+    private final int[] tree; // 1-based, (width + 1) x (height + 1)
+
+    RegionIndex(int maxX, int maxY) {
+        this.shiftX = shift(maxX);
+        this.shiftY = shift(maxY);
+        this.width = (maxX >>> shiftX) + 1;
+        this.height = (maxY >>> shiftY) + 1;
+        this.tree = new int[(width + 1) * (height + 1)];
+    }
+
+    private static int shift(int max) {
+        int bits = 32 - Integer.numberOfLeadingZeros(max);
+        return Math.max(MIN_SHIFT, bits - Integer.numberOfTrailingZeros(MAX_BLOCKS));
+    }
+
+    /** Count one more occupied cell at in-bounds {@code (x, y)}; each cell must be added once. */
+    void add(int x, int y) {
+        for (int i = (x >>> shiftX) + 1; i <= width; i += i & -i) {
+            for (int j = (y >>> shiftY) + 1; j <= height; j += j & -j) {
+                tree[i * (height + 1) + j]++;
+            }
+        }
+    }
+
+    /** Occupied cells in blocks {@code [0, bx) x [0, by)}. */
+    private long prefix(int bx, int by) {
+        long sum = 0;
+        for (int i = bx; i > 0; i -= i & -i) {
+            for (int j = by; j > 0; j -= j & -j) {
+                sum += tree[i * (height + 1) + j];
+            }
+        }
+        return sum;
+    }
+
+    /** @return {@code false} if no cell of the in-bounds rectangle {@code [x0, x1] x [y0, y1]} is occupied */
+    boolean mayBeOccupied(int x0, int y0, int x1, int y1) {
+        int bx0 = x0 >>> shiftX, bx1 = (x1 >>> shiftX) + 1;
+        int by0 = y0 >>> shiftY, by1 = (y1 >>> shiftY) + 1;
+        return prefix(bx1, by1) - prefix(bx0, by1) - prefix(bx1, by0) + prefix(bx0, by0) != 0;
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.Model;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Sparse occupancy in {@value #TILE} x {@value #TILE} bitmap tiles, allocated once a tile holds
+ * more than {@value #SPARSE_CELLS} cells. Accepts any coordinates; memory grows with the populated
+ * area: about 28 bytes per isolated cell, one bit per cell once rovers cluster.
+ * <p>
+ * A tile with few cells keeps them as 12-bit offsets {@code (y & 63) << 6 | x & 63} packed in one
+ * {@code long}. A bitmap tile {@code (x >> 6, y >> 6)} is one row of {@code long}s in a shared word
+ * array, tile row {@code y & 63} in word {@code y & 63} and cell {@code x & 63} in its bit, so it
+ * costs {@value #TILE_WORDS} words and no object header. An open-addressing table maps packed tile
+ * coordinates to tile numbers. The last tile looked up is remembered: rovers move one cell at a
+ * time, so most lookups stay in it and skip the table.
+ */
+public final class TiledOccupancy implements Occupancy {
+    static final int TILE_BITS = 6;
+    static final int TILE = 1 << TILE_BITS;
+    static final int TILE_WORDS = TILE;
+    /** Cells a tile holds as offsets before it gets a bitmap: five 12-bit offsets fill a {@code long}. */
+    static final int SPARSE_CELLS = 5;
+    /** Most tiles the table can hold. */
+    static final int MAX_TILES = 1 << 29;
+    /** Longest word array, a whole number of tiles: about 2^25 bitmap tiles. */
+    static final int MAX_WORDS = (Integer.MAX_VALUE - 8) & -TILE_WORDS;
+    private static final int LOCAL = TILE - 1;
+    private static final int OFFSET_BITS = 2 * TILE_BITS, OFFSET_MASK = (1 << OFFSET_BITS) - 1;
+
+    private long[] words = new long[16 * TILE_WORDS];
+    private int bitmaps;
+    private long[] tileKeys = new long[16];
+    // per tile: first word of its bitmap, or ~(number of cells) while they are kept in cells[]
+    private int[] bases = new int[16];
+    private long[] cells = new long[16];
+    private int tiles;
+    // tile number + 1 per slot, 0 for an empty slot
+    private int[] table;
+    private int mask;
+    private int shift;
+    private long size;
+
+    // fast path: the last tile found, or -1
+    private long lastKey;
+    private int lastTile = -1;
+
+    public TiledOccupancy() {
+        allocate(32);
+    }
+
+    private void allocate(int capacity) {
+        table = new int[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(capacity - 1L);
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+    }
+
+    private static long tileKey(int x, int y) {
+        return Occupancy.pack(x >> TILE_BITS, y >> TILE_BITS);
+    }
+
+    private static int offset(int x, int y) {
+        return (y & LOCAL) << TILE_BITS | x & LOCAL;
+    }
+
+    /** @return the number of the tile with {@code key}, or -1 if it has no cell */
+    private int tile(long key) {
+        if (lastTile >= 0 && key == lastKey) return lastTile;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int t = table[i];
+            if (t == 0) return -1;
+            if (tileKeys[t - 1] == key) {
+                lastKey = key;
+                return lastTile = t - 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(int x, int y) {
+        int t = tile(tileKey(x, y));
+        if (t < 0) return false;
+        int base = bases[t];
+        if (base >= 0) return (words[base + (y & LOCAL)] & (1L << x)) != 0;
+        return sparseContains(cells[t], ~base, offset(x, y));
+    }
+
+    private static boolean sparseContains(long packed, int count, int offset) {
+        for (int i = 0; i < count; i++, packed >>>= OFFSET_BITS) {
+            if ((packed & OFFSET_MASK) == offset) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void add(int x, int y) {
+        long key = tileKey(x, y);
+        int t = tile(key);
+        if (t < 0) t = newTile(key);
+        int base = bases[t];
+        if (base < 0) {
+            int count = ~base, offset = offset(x, y);
+            if (sparseContains(cells[t], count, offset)) return;
+            if (count < SPARSE_CELLS) {
+                cells[t] |= (long) offset << (count * OFFSET_BITS);
+                bases[t] = ~(count + 1);
+                size++;
+                return;
+            }
+            base = toBitmap(t, count);
+        }
+        int w = base + (y & LOCAL);
+        long bit = 1L << x;
+        if ((words[w] & bit) == 0) {
+            words[w] |= bit;
+            size++;
+        }
+    }
+
+    /** Moves the cells of tile {@code t} to a new bitmap; @return its first word */
+    private int toBitmap(int t, int count) {
+        if ((long) (bitmaps + 1) * TILE_WORDS > words.length) {
+            long grown = Math.min(MAX_WORDS, (long) words.length * 2);
+            if (grown < (long) (bitmaps + 1) * TILE_WORDS)
+                throw new IllegalStateException("TiledOccupancy: more than " + MAX_WORDS / TILE_WORDS + " bitmap tiles");
+            words = Arrays.copyOf(words, (int) grown);
+        }
+        int base = bitmaps++ * TILE_WORDS;
+        for (long packed = cells[t]; count > 0; count--, packed >>>= OFFSET_BITS) {
+            int offset = (int) (packed & OFFSET_MASK);
+            words[base + (offset >>> TILE_BITS)] |= 1L << offset;
+        }
+        bases[t] = base;
+        cells[t] = 0;
+        return base;
+    }
+
+    private int newTile(long key) {
+        if (tiles == tileKeys.length) {
+            if (tiles == MAX_TILES) throw new IllegalStateException("TiledOccupancy: more than " + MAX_TILES + " tiles");
+            int grown = Math.min(MAX_TILES, tiles << 1);
+            tileKeys = Arrays.copyOf(tileKeys, grown);
+            bases = Arrays.copyOf(bases, grown);
+            cells = Arrays.copyOf(cells, grown);
+        }
+        tileKeys[tiles] = key;
+        bases[tiles] = ~0; // no cell yet
+        tiles++;
+        if (tiles * 2L > table.length) {
+            allocate(table.length << 1);
+            for (int t = 0; t < tiles; t++) insert(tileKeys[t], t);
+        } else {
+            insert(key, tiles - 1);
+        }
+        lastKey = key;
+        return lastTile = tiles - 1;
+    }
+
+    private void insert(long key, int tile) {
+        int i = slot(key);
+        while (table[i] != 0) i = (i + 1) & mask;
+        table[i] = tile + 1;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /** Number of tiles with a bitmap. */
+    public int tiles() {
+        return bitmaps;
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        for (int t = 0; t < tiles; t++) {
+            int x0 = Occupancy.unpackX(tileKeys[t]) << TILE_BITS, y0 = Occupancy.unpackY(tileKeys[t]) << TILE_BITS;
+            int base = bases[t];
+            if (base < 0) {
+                long packed = cells[t];
+                for (int i = 0; i < ~base; i++, packed >>>= OFFSET_BITS) {
+                    int offset = (int) (packed & OFFSET_MASK);
+                    action.accept(Occupancy.pack(x0 + (offset & LOCAL), y0 + (offset >>> TILE_BITS)));
+                }
+                continue;
+            }
+            for (int row = 0; row < TILE; row++) {
+                for (long bits = words[base + row]; bits != 0; bits &= bits - 1) {
+                    action.accept(Occupancy.pack(x0 + Long.numberOfTrailingZeros(bits), y0 + row));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.example;
+
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Output.ResultSink;
+import org.example.Server.MissionServer;
+import org.example.log.AsyncEventLogger;
+import org.example.log.BinaryJournal;
+import org.example.log.Event;
+import org.example.log.EventLogger;
+import org.example.log.SampledEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Command line of a mission run, of the mission server or of a batch, see {@link #USAGE}.
+ */
+final class Options {
+    static final String USAGE = "Usage: java -jar rover.jar <input.txt> [--engine=step|segment|screened|compiled|parallel|lockstep]"
+            + " [--mode=fail-fast|fail-fast-per-rover|skip-step] [--results=text|ndjson|binary] [--parse-threads=N]"
+            + " [--session=<snapshot>] [--checkpoint=<file> [--checkpoint-every=N] [--resume]] [--metrics=<file>|-]"
+            + " [--fleet[=x0,y0,x1,y1]] [--events=<file>|-] [--journal=<file>] [--log-types=FAULT,ROVER_*,...] [--log-every=N] [--log-rovers=1,2,...]"
+            + "\n       java -jar rover.jar serve [--port=8080] [--max-requests=N] [--max-body-mb=N] [--max-response-mb=N]"
+            + " [--engine=...] [logging options]"
+            + "\n       java -jar rover.jar batch <dir>|'<glob>' [--out=<dir>|--merged=<file>|-] [--threads=N] [--in-flight-mb=N]"
+            + " [--engine=...] [--mode=...] [logging options]"
+            + "\n       java -jar rover.jar loadtest <url> <mission> [--concurrency=N] [--requests=N]"
+            + "\n       java -jar rover.jar export-journal <journal> [out.ndjson]";
+
+    Path input;
+    String engine = "step";
+    ExecutionPolicy mode = ExecutionPolicy.FAIL_FAST_PER_ROVER;
+    ResultSink.Format results = ResultSink.Format.TEXT;
+    int parseThreads = 1;
+    String events; // null: log4j on stderr
+    Path journal;
+    List<String> logTypes; // null: every type
+    int logEvery = 1;
+    BitSet logRovers;
+    Path session;
+    Path checkpoint;
+    int checkpointEvery = 1_000_000;
+    boolean resume;
+    String metrics; // null: no metrics
+    boolean fleet;
+    int[] fleetArea; // x0, y0, x1, y1; null: summary only
+    int port = 8080;
+    MissionServer.Limits limits = MissionServer.Limits.defaults();
+    String missions; // batch: directory or glob
+    Path out; // batch: one output file per mission
+    String merged; // batch: merged output file, stdout for - or when there is no --out
+    int threads = Runtime.getRuntime().availableProcessors();
+    long inFlightBytes = Runtime.getRuntime().maxMemory() / 4;
+    AsyncEventLogger asyncLogger; // set by openLogger() when events go through the NDJSON writer
+
+    private enum Command { RUN, SERVE, BATCH }
+
+    static Options parse(String[] args) {
+        return parse(args, Command.RUN);
+    }
+
+    /** Options of {@code serve}: no input file, {@code --port} and the request limits allowed. */
+    static Options parseServer(String[] args) {
+        return parse(args, Command.SERVE);
+    }
+
+    /** Options of {@code batch}: a directory or glob instead of the input file, batch options allowed. */
+    static Options parseBatch(String[] args) {
+        return parse(args, Command.BATCH);
+    }
+
+    private static Options parse(String[] args, Command command) {
+        Options o = new Options();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int eq = arg.indexOf('=');
+                String key = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+                String value = eq < 0 ? "" : arg.substring(eq + 1);
+                switch (key) {
+                    case "engine" -> o.engine = value;
+                    case "mode" -> o.mode = ExecutionPolicy.of(value);
+                    case "results" -> {
+                        if (command != Command.RUN) throw new IllegalArgumentException("Unknown option: " + arg);
+                        o.results = ResultSink.Format.of(value);
+                    }
+                    case "parse-threads" -> {
+                        if (command != Command.RUN) throw new IllegalArgumentException("Unknown option: " + arg);
+                        o.parseThreads = positiveInt(arg, value);
+                    }
+                    case "fleet" -> {
+                        if (command != Command.RUN) throw new IllegalArgumentException("Unknown option: " + arg);
+                        o.fleet = true;
+                        if (!value.isEmpty()) o.fleetArea = area(arg, value);
+                    }
+                    case "checkpoint", "checkpoint-every", "resume" -> {
+                        if (command != Command.RUN) throw new IllegalArgumentException("Unknown option: " + arg);
+                        switch (key) {
+                            case "checkpoint" -> o.checkpoint = Path.of(value);
+                            case "checkpoint-every" -> o.checkpointEvery = positiveInt(arg, value);
+                            default -> o.resume = true;
+                        }
+                    }
+                    case "events" -> o.events = value;
+                    case "journal" -> o.journal = Path.of(value);
+                    case "session" -> o.session = Path.of(value);
+                    case "metrics" -> o.metrics = value.isEmpty() ? "-" : value;
+                    case "log-types" -> o.logTypes = List.of(value.split(","));
+                    case "log-every" -> o.logEvery = positiveInt(arg, value);
+                    case "log-rovers" -> {
+                        o.logRovers = new BitSet();
+                        for (String id : value.split(",")) o.logRovers.set(positiveInt(arg, id.trim()));
+                    }
+                    case "port", "max-requests", "max-body-mb", "max-response-mb" -> {
+                        if (command != Command.SERVE) throw new IllegalArgumentException("Unknown option: " + arg);
+                        MissionServer.Limits l = o.limits;
+                        switch (key) {
+                            case "port" -> o.port = positiveInt(arg, value);
+                            case "max-requests" -> o.limits = new MissionServer.Limits(positiveInt(arg, value),
+                                    l.maxBodyBytes(), l.maxResponseBytes());
+                            case "max-body-mb" -> o.limits = new MissionServer.Limits(l.maxRequests(),
+                                    (long) positiveInt(arg, value) << 20, l.maxResponseBytes());
+                            default -> o.limits = new MissionServer.Limits(l.maxRequests(), l.maxBodyBytes(),
+                                    (long) positiveInt(arg, value) << 20);
+                        }
+                    }
+                    case "out", "merged", "threads", "in-flight-mb" -> {
+                        if (command != Command.BATCH) throw new IllegalArgumentException("Unknown option: " + arg);
+                        switch (key) {
+                            case "out" -> o.out = Path.of(value);
+                            case "merged" -> o.merged = value.isEmpty() ? "-" : value;
+                            case "threads" -> o.threads = positiveInt(arg, value);
+                            default -> o.inFlightBytes = (long) positiveInt(arg, value) << 20;
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            } else if (command == Command.RUN && o.input == null) {
+                o.input = Path.of(arg);
+            } else if (command == Command.BATCH && o.missions == null) {
+                o.missions = arg;
+            } else {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+        }
+        if (o.input == null && command == Command.RUN) throw new IllegalArgumentException("Missing input file");
+        if (o.missions == null && command == Command.BATCH) throw new IllegalArgumentException("Missing missions directory or glob");
+        if (command == Command.BATCH && (o.session != null || o.metrics != null))
+            throw new IllegalArgumentException("--session and --metrics are not available in batch mode");
+        if (o.out != null && o.merged != null)
+            throw new IllegalArgumentException("--out and --merged are mutually exclusive");
+        if (o.events != null && o.journal != null)
+            throw new IllegalArgumentException("--events and --journal are mutually exclusive");
+        if (!MissionRunner.isEngine(o.engine)) throw new IllegalArgumentException("Unknown engine: " + o.engine);
+        if (o.resume && o.checkpoint == null) throw new IllegalArgumentException("--resume needs --checkpoint");
+        if (o.checkpoint != null && o.session != null)
+            throw new IllegalArgumentException("--checkpoint and --session are mutually exclusive");
+        if (o.checkpoint != null && (o.engine.equals("parallel") || o.engine.equals(MissionRunner.LOCKSTEP)))
+            throw new IllegalArgumentException("--checkpoint needs a sequential engine: step, segment, screened or compiled");
+        return o;
+    }
+
+    private static int positiveInt(String arg, String value) {
+        try {
+            int v = Integer.parseInt(value);
+            if (v > 0) return v;
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Expected a positive integer: " + arg);
+    }
+
+    private static int[] area(String arg, String value) {
+        String[] bounds = value.split(",");
+        if (bounds.length == 4) {
+            try {
+                int[] area = new int[4];
+                for (int i = 0; i < 4; i++) area[i] = Integer.parseInt(bounds[i].trim());
+                if (area[0] <= area[2] && area[1] <= area[3]) return area;
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+        }
+        throw new IllegalArgumentException("Expected x0,y0,x1,y1 with x0 <= x1 and y0 <= y1: " + arg);
+    }
+
+    /** Set when running as a GraalVM native image. */
+    static final boolean NATIVE_IMAGE = System.getProperty("org.graalvm.nativeimage.imagecode") != null;
+
+    /**
+     * {@code --events} switches from log4j to the asynchronous NDJSON writer, {@code -} meaning stderr,
+     * {@code --journal} to the binary journal; the {@code --log-*} options wrap it in a {@link SampledEvent}.
+     * A native image has no log4j configuration and writes to stderr with the NDJSON writer by default.
+     */
+    Event openLogger() throws IOException {
+        Event logger;
+        if (journal != null) logger = BinaryJournal.create(journal);
+        else if (events == null && !NATIVE_IMAGE) logger = new EventLogger();
+        else if (events == null || events.equals("-")) logger = asyncLogger = AsyncEventLogger.stderr();
+        else logger = asyncLogger = AsyncEventLogger.open(Path.of(events));
+        if (logTypes == null && logEvery == 1 && logRovers == null) return logger;
+        return new SampledEvent(logger, logTypes, logEvery, logRovers);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.Output;
+
+import org.example.Model.Direction;
+import org.example.Model.ExecutionResult;
+import org.example.Model.Position;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-width records with every field of {@link ExecutionResult.Stopped}.
+ * <p>
+ * Layout (little endian): an {@value #HEADER_BYTES}-byte header {@code "RVR1"}, version; then one
+ * {@value #RECORD_BYTES}-byte record per rover:
+ * <pre>
+ *  0 roverId  int
+ *  4 status   byte   0 COMPLETED, 1 STOPPED
+ *  5 heading  byte   {@link Direction} ordinal
+ *  6 fault    byte   {@link ExecutionResult.Fault} ordinal, 0xFF if completed
+ *  7 command  byte   command tried ({@code M}, or {@code -} for a start on an occupied cell), 0 if completed
+ *  8 x, y     int, int   final position
+ * 16 step     int    step of the fault, 0 if completed
+ * 20 ax, ay   int, int   attempted position, 0 if completed
+ * 28 reserved int
+ * </pre>
+ * {@link #read} decodes a file back into results; a record with an unknown status, heading or
+ * fault is reported as an {@link IOException} with its offset.
+ */
+public final class BinaryResultSink extends BufferedResultSink {
+    static final int MAGIC = 0x31525652; // "RVR1" read as a little endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_BYTES = 32;
+    private static final byte NONE = (byte) 0xFF;
+    private static final Direction[] HEADINGS = Direction.values();
+    private static final ExecutionResult.Fault[] FAULTS = ExecutionResult.Fault.values();
+
+    public BinaryResultSink(WritableByteChannel out, boolean closeChannel) {
+        this(out, closeChannel, true);
+    }
+
+    /** @param header {@code false} to append records to an output that already has its header */
+    public BinaryResultSink(WritableByteChannel out, boolean closeChannel, boolean header) {
+        super(out, closeChannel);
+        if (header) buf.putInt(MAGIC).putInt(VERSION);
+    }
+
+    @Override
+    public void accept(ExecutionResult res) {
+        if (buf.remaining() < RECORD_BYTES) drain(buf);
+        buf.putInt(res.roverId());
+        if (res instanceof ExecutionResult.Stopped s) {
+            buf.put((byte) 1).put((byte) s.direction().ordinal()).put((byte) s.fault().ordinal()).put((byte) s.commandTried())
+                    .putInt(s.position().x()).putInt(s.position().y())
+                    .putInt(s.stepIndex()).putInt(s.posAttempted().x()).putInt(s.posAttempted().y());
+        } else {
+            buf.put((byte) 0).put((byte) res.direction().ordinal()).put(NONE).put((byte) 0)
+                    .putInt(res.position().x()).putInt(res.position().y())
+                    .putInt(0).putInt(0).putInt(0);
+        }
+        buf.putInt(0);
+    }
+
+    /** @return number of results decoded from {@code in} and handed to {@code sink} */
+    public static long read(ReadableByteChannel in, Consumer<ExecutionResult> sink) throws IOException {
+        ByteBuffer src = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        fill(in, src, HEADER_BYTES);
+        if (src.remaining() < HEADER_BYTES || src.getInt() != MAGIC) throw new IOException("not a rover results file");
+        int version = src.getInt();
+        if (version != VERSION) throw new IOException("unsupported results version " + version);
+        long count = 0;
+        while (true) {
+            if (src.remaining() < RECORD_BYTES) {
+                src.compact();
+                fill(in, src, RECORD_BYTES);
+                if (src.remaining() < RECORD_BYTES) {
+                    if (src.hasRemaining()) throw new IOException("truncated results record");
+                    return count;
+                }
+            }
+            long offset = HEADER_BYTES + count * RECORD_BYTES;
+            int roverId = src.getInt();
+            int status = src.get() & 0xFF, heading = src.get() & 0xFF, fault = src.get() & 0xFF;
+            byte command = src.get();
+            if (status > 1) throw corrupt(offset, "unknown status " + status);
+            if (heading >= HEADINGS.length) throw corrupt(offset, "unknown heading " + heading);
+            if (status == 1 && fault >= FAULTS.length) throw corrupt(offset, "unknown fault " + fault);
+            Direction dir = HEADINGS[heading];
+            Position pos = new Position(src.getInt(), src.getInt());
+            int step = src.getInt(), ax = src.getInt(), ay = src.getInt();
+            src.getInt();
+            sink.accept(status == 0
+                    ? new ExecutionResult.Completed(roverId, pos, dir)
+                    : new ExecutionResult.Stopped(roverId, pos, dir, FAULTS[fault], step, (char) command, new Position(ax, ay)));
+            count++;
+        }
+    }
+
+    private static IOException corrupt(long offset, String detail) {
+        return new IOException("corrupt results record at offset " + offset + ": " + detail);
+    }
+
+    /** Read until at least {@code min} bytes are buffered or the channel ends; leaves {@code src} ready to get. */
+    private static void fill(ReadableByteChannel in, ByteBuffer src, int min) throws IOException {
+        while (src.position() < min && in.read(src) >= 0) {
+            // keep reading
+        }
+        src.flip();
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.Output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/** Buffer and channel handling shared by the {@link ResultSink} formats. */
+abstract class BufferedResultSink implements ResultSink {
+    static final int BUFFER_BYTES = 1 << 16;
+
+    private final WritableByteChannel out;
+    private final boolean closeChannel;
+    private long written;
+    final ByteBuffer buf = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    BufferedResultSink(WritableByteChannel out, boolean closeChannel) {
+        this.out = out;
+        this.closeChannel = closeChannel;
+    }
+
+    /** Writes the buffer out and returns it cleared; also the {@link org.example.log.NdjsonEncoder.Sink} of text formats. */
+    final ByteBuffer drain(ByteBuffer full) {
+        full.flip();
+        try {
+            while (full.hasRemaining()) written += out.write(full);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            full.clear();
+        }
+        return full;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            drain(buf);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public long bytesWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (closeChannel) out.close();
+        }
+    }
+}
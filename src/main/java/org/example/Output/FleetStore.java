@@ -0,0 +1,178 @@
+package org.example.Output;
+
+import org.example.Model.Direction;
+import org.example.Model.ExecutionResult;
+import org.example.Model.Position;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Final state of a whole fleet, kept off-heap in primitive columns instead of one
+ * {@link ExecutionResult} per rover, for questions asked after a run: faults by type, rovers in a
+ * rectangle, the result of one rover. Use it as the results sink of a run, or next to one with
+ * {@code --fleet}; results must come in increasing rover id order, as every runner hands them out.
+ * <p>
+ * Rovers are stored in pages of {@value #PAGE} in direct buffers, one column after the other in
+ * each page: id, x, y, step of the fault (int), then a state byte holding the heading in bits 0-1,
+ * stopped in bit 2 and the {@link ExecutionResult.Fault} ordinal in bits 3-4. The command tried and
+ * the attempted cell of a stopped rover are not stored, every engine sets them from the rest: a
+ * start on an occupied cell is step 0, {@code '-'} and the start cell; a blocked move is {@code 'M'}
+ * towards the heading. Pages are released by the GC, like a {@link org.example.Parser.MappedFile}.
+ * Not thread safe.
+ */
+public final class FleetStore implements Consumer<ExecutionResult> {
+    static final int PAGE_SHIFT = 16;
+    static final int PAGE = 1 << PAGE_SHIFT;
+    private static final int MASK = PAGE - 1;
+    // column offsets in a page
+    private static final int ID = 0, X = 4 * PAGE, Y = 8 * PAGE, STEP = 12 * PAGE, STATE = 16 * PAGE;
+    private static final int PAGE_BYTES = 17 * PAGE;
+    private static final int STOPPED = 1 << 2, FAULT_SHIFT = 3, FAULT_MASK = 3;
+    private static final Direction[] HEADINGS = Direction.values();
+    private static final ExecutionResult.Fault[] FAULTS = ExecutionResult.Fault.values();
+
+    static {
+        if (FAULTS.length > FAULT_MASK + 1) throw new AssertionError("FleetStore: more faults than state bits");
+    }
+
+    private ByteBuffer[] pages = new ByteBuffer[16];
+    private long size;
+    private int lastId = Integer.MIN_VALUE;
+
+    @Override
+    public void accept(ExecutionResult res) {
+        if (res.roverId() <= lastId)
+            throw new IllegalArgumentException("rover #" + res.roverId() + " after rover #" + lastId);
+        int p = (int) (size >>> PAGE_SHIFT), i = (int) (size & MASK);
+        if (i == 0) {
+            if (p == pages.length) pages = Arrays.copyOf(pages, p * 2);
+            pages[p] = ByteBuffer.allocateDirect(PAGE_BYTES).order(ByteOrder.nativeOrder());
+        }
+        ByteBuffer page = pages[p];
+        int state = res.direction().ordinal();
+        int step = 0;
+        if (res instanceof ExecutionResult.Stopped s) {
+            state |= STOPPED | s.fault().ordinal() << FAULT_SHIFT;
+            step = s.stepIndex();
+        }
+        page.putInt(ID + 4 * i, res.roverId())
+                .putInt(X + 4 * i, res.position().x())
+                .putInt(Y + 4 * i, res.position().y())
+                .putInt(STEP + 4 * i, step)
+                .put(STATE + i, (byte) state);
+        lastId = res.roverId();
+        size++;
+    }
+
+    /** Rovers stored. */
+    public long size() {
+        return size;
+    }
+
+    /** @return the result of rover {@code roverId}, or {@code null} if it is not in the store */
+    public ExecutionResult get(int roverId) {
+        if (size == 0) return null;
+        // ids are usually consecutive: try the slot it would have, then bisect
+        long guess = (long) roverId - id(0);
+        if (guess >= 0 && guess < size && id(guess) == roverId) return result(guess);
+        long lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            long mid = (lo + hi) >>> 1;
+            int id = id(mid);
+            if (id < roverId) lo = mid + 1;
+            else if (id > roverId) hi = mid - 1;
+            else return result(mid);
+        }
+        return null;
+    }
+
+    /** Stopped rovers with {@code fault}. */
+    public long count(ExecutionResult.Fault fault) {
+        int wanted = STOPPED | fault.ordinal() << FAULT_SHIFT, mask = STOPPED | FAULT_MASK << FAULT_SHIFT;
+        long n = 0;
+        for (int p = 0; p < pageCount(); p++) {
+            ByteBuffer page = pages[p];
+            for (int i = 0, end = pageSize(p); i < end; i++) {
+                if ((page.get(STATE + i) & mask) == wanted) n++;
+            }
+        }
+        return n;
+    }
+
+    /** Rovers that executed all their commands. */
+    public long completedCount() {
+        long n = 0;
+        for (int p = 0; p < pageCount(); p++) {
+            ByteBuffer page = pages[p];
+            for (int i = 0, end = pageSize(p); i < end; i++) {
+                if ((page.get(STATE + i) & STOPPED) == 0) n++;
+            }
+        }
+        return n;
+    }
+
+    /** One line: rovers stored, completed, and stopped by fault. */
+    public String summary() {
+        StringBuilder line = new StringBuilder().append(size).append(" rovers, ").append(completedCount()).append(" completed");
+        for (ExecutionResult.Fault fault : FAULTS) line.append(", ").append(count(fault)).append(" stopped ").append(fault);
+        return line.toString();
+    }
+
+    /**
+     * Hands the ids of the rovers whose final cell is in {@code [x0, x1] x [y0, y1]} to {@code roverIds},
+     * in id order.
+     * @return number of rovers found
+     */
+    public long forEachIn(int x0, int y0, int x1, int y1, IntConsumer roverIds) {
+        long n = 0;
+        for (int p = 0; p < pageCount(); p++) {
+            ByteBuffer page = pages[p];
+            for (int i = 0, end = pageSize(p); i < end; i++) {
+                int x = page.getInt(X + 4 * i);
+                if (x < x0 || x > x1) continue;
+                int y = page.getInt(Y + 4 * i);
+                if (y < y0 || y > y1) continue;
+                roverIds.accept(page.getInt(ID + 4 * i));
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /** Rovers whose final cell is in {@code [x0, x1] x [y0, y1]}. */
+    public long countIn(int x0, int y0, int x1, int y1) {
+        return forEachIn(x0, y0, x1, y1, id -> { });
+    }
+
+    private int pageCount() {
+        return (int) ((size + MASK) >>> PAGE_SHIFT);
+    }
+
+    private int pageSize(int p) {
+        return (int) Math.min(PAGE, size - ((long) p << PAGE_SHIFT));
+    }
+
+    private int id(long k) {
+        return pages[(int) (k >>> PAGE_SHIFT)].getInt(ID + 4 * (int) (k & MASK));
+    }
+
+    private ExecutionResult result(long k) {
+        ByteBuffer page = pages[(int) (k >>> PAGE_SHIFT)];
+        int i = (int) (k & MASK);
+        int roverId = page.getInt(ID + 4 * i), x = page.getInt(X + 4 * i), y = page.getInt(Y + 4 * i);
+        int state = page.get(STATE + i);
+        Direction dir = HEADINGS[state & 3];
+        Position pos = new Position(x, y);
+        if ((state & STOPPED) == 0) return new ExecutionResult.Completed(roverId, pos, dir);
+        ExecutionResult.Fault fault = FAULTS[state >>> FAULT_SHIFT & FAULT_MASK];
+        int step = page.getInt(STEP + 4 * i);
+        return step == 0
+                ? new ExecutionResult.Stopped(roverId, pos, dir, fault, 0, '-', pos)
+                : new ExecutionResult.Stopped(roverId, pos, dir, fault, step, 'M',
+                        new Position(x + dir.dx(), y + dir.dy()));
+    }
+}
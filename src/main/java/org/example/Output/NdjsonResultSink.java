@@ -0,0 +1,39 @@
+package org.example.Output;
+
+import org.example.Model.ExecutionResult;
+import org.example.log.NdjsonEncoder;
+
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * One JSON object per rover: {@code {"roverId":1,"status":"COMPLETED","pos":{"x":1,"y":3},"dir":"N"}},
+ * plus {@code fault}, {@code step}, {@code command} and {@code attempted} for a stopped rover.
+ */
+public final class NdjsonResultSink extends BufferedResultSink {
+    private final NdjsonEncoder enc = new NdjsonEncoder(buf, this::drain);
+
+    public NdjsonResultSink(WritableByteChannel out, boolean closeChannel) {
+        super(out, closeChannel);
+    }
+
+    @Override
+    public void accept(ExecutionResult res) {
+        enc.raw("{\"roverId\":");
+        enc.number(res.roverId());
+        enc.raw(res instanceof ExecutionResult.Stopped ? ",\"status\":\"STOPPED\",\"pos\":" : ",\"status\":\"COMPLETED\",\"pos\":");
+        enc.position(res.position().x(), res.position().y());
+        enc.raw(",\"dir\":");
+        enc.string(res.direction().name());
+        if (res instanceof ExecutionResult.Stopped s) {
+            enc.raw(",\"fault\":");
+            enc.string(s.fault().name());
+            enc.raw(",\"step\":");
+            enc.number(s.stepIndex());
+            enc.raw(",\"command\":\"");
+            enc.put((byte) s.commandTried());
+            enc.raw("\",\"attempted\":");
+            enc.position(s.posAttempted().x(), s.posAttempted().y());
+        }
+        enc.raw("}\n");
+    }
+}
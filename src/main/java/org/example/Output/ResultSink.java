@@ -0,0 +1,60 @@
+package org.example.Output;
+
+import org.example.Model.ExecutionResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+
+/**
+ * Where rover results go, in the order they are accepted. Results are encoded into a reusable
+ * buffer and written to a channel in large batches; nothing reaches the channel before the
+ * buffer fills up, {@link #flush()} or {@link #close()}. Implementations are not thread-safe.
+ * Write errors are thrown as {@link java.io.UncheckedIOException} from {@link #accept}.
+ */
+public interface ResultSink extends Consumer<ExecutionResult>, Closeable {
+    /** Output formats, by {@code --results} name. */
+    enum Format {
+        /** {@code "1 3 N"} lines, the historical command line output. */
+        TEXT("text"),
+        /** One JSON object per rover, with the fault details of a stopped rover. */
+        NDJSON("ndjson"),
+        /** Fixed-width little endian records, see {@link BinaryResultSink}. */
+        BINARY("binary");
+
+        public final String name;
+
+        Format(String name) {
+            this.name = name;
+        }
+
+        public static Format of(String name) {
+            for (Format f : values()) if (f.name.equals(name)) return f;
+            throw new IllegalArgumentException("Unknown results format: " + name);
+        }
+    }
+
+    /** @param closeChannel whether {@link #close()} also closes {@code out} */
+    static ResultSink open(Format format, WritableByteChannel out, boolean closeChannel) {
+        return open(format, out, closeChannel, false);
+    }
+
+    /**
+     * @param append the results follow those of an earlier run already in {@code out}, so the binary
+     *               format has no header
+     */
+    static ResultSink open(Format format, WritableByteChannel out, boolean closeChannel, boolean append) {
+        return switch (format) {
+            case TEXT -> new TextResultSink(out, closeChannel);
+            case NDJSON -> new NdjsonResultSink(out, closeChannel);
+            case BINARY -> new BinaryResultSink(out, closeChannel, !append);
+        };
+    }
+
+    /** Write out everything accepted so far. */
+    void flush() throws IOException;
+
+    /** Bytes written to the channel so far; results still buffered are not counted. */
+    long bytesWritten();
+}
@@ -0,0 +1,25 @@
+package org.example.Output;
+
+import org.example.Model.ExecutionResult;
+import org.example.log.NdjsonEncoder;
+
+import java.nio.channels.WritableByteChannel;
+
+/** {@code x y D} lines, digits written straight into the buffer. */
+public final class TextResultSink extends BufferedResultSink {
+    private final NdjsonEncoder enc = new NdjsonEncoder(buf, this::drain);
+
+    public TextResultSink(WritableByteChannel out, boolean closeChannel) {
+        super(out, closeChannel);
+    }
+
+    @Override
+    public void accept(ExecutionResult res) {
+        enc.number(res.position().x());
+        enc.put((byte) ' ');
+        enc.number(res.position().y());
+        enc.put((byte) ' ');
+        enc.raw(res.direction().name());
+        enc.put((byte) '\n');
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.Parser;
+
+/**
+ * Finds the run of command bytes ({@code L/R/M} in either case) at the start of a range of a
+ * {@link MappedFile}. Bytes are copied out of the mapping in chunks and checked with
+ * {@link #span(byte[], int, int)}: a plain loop here, a SIMD one in {@link VectorCommandScanner}
+ * when the JVM was started with {@code --add-modules jdk.incubator.vector}.
+ */
+class CommandScanner {
+    /** Largest chunk copied at once; chunks start small so short lines do not copy much past their end. */
+    static final int CHUNK = 4096;
+    private static final int FIRST_CHUNK = 64;
+
+    static final CommandScanner INSTANCE = create();
+
+    CommandScanner() {}
+
+    private static CommandScanner create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // by name, so that nothing links against the incubator module when it is absent
+                return (CommandScanner) Class.forName("org.example.Parser.VectorCommandScanner")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // scalar loop below
+            }
+        }
+        return new CommandScanner();
+    }
+
+    // one lookup rather than three compares, whose branches mispredict on mixed commands
+    private static final boolean[] COMMAND = new boolean[256];
+    static {
+        for (char c : "LRMlrm".toCharArray()) COMMAND[c] = true;
+    }
+
+    /**
+     * @param chunk scratch buffer of {@link #CHUNK} bytes
+     * @return offset of the first byte of {@code [from, to)} that is not a command byte, or {@code to}
+     */
+    final long span(MappedFile file, long from, long to, byte[] chunk) {
+        long p = from;
+        for (int size = FIRST_CHUNK; p < to; size = Math.min(CHUNK, size << 1)) {
+            int n = (int) Math.min(size, to - p);
+            file.copy(p, chunk, n);
+            int k = span(chunk, 0, n);
+            p += k;
+            if (k < n) break;
+        }
+        return p;
+    }
+
+    /** @return index of the first byte of {@code chunk[from, to)} that is not a command byte, or {@code to} */
+    int span(byte[] chunk, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!COMMAND[chunk[i] & 0xFF]) return i;
+        }
+        return to;
+    }
+}
@@ -7,62 +7,217 @@ import org.example.Model.Plateau;
 import org.example.Model.Position;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
 
 public final class InputParser {
-    public record RoverPlan(Position position, Direction direction, String commands){}
+    public record RoverPlan(Position position, Direction direction, CharSequence commands){}
     public record Mission(Plateau plateau, List<RoverPlan> roverPlans){}
 
+    /** Read buffer used by the streaming reader; lines are pulled from the file in chunks of this size. */
+    static final int READ_BUFFER_SIZE = 1 << 16;
+
     public Mission parser(Path path) throws IOException {
+        try (MissionReader reader = open(path)) {
+            List<RoverPlan> roverPlans = new ArrayList<>();
+            reader.forEachRemaining(roverPlans::add);
+            return new Mission(reader.plateau(), roverPlans);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Open the mission in streaming mode: only the plateau line is read eagerly,
+     * rover plans are parsed one pair of lines at a time as the caller iterates.
+     */
+    public MissionReader open(Path path) throws IOException {
         if (!Files.exists(path)) throw new IOException("file not found: " + path);
-        List<String> lines = Files.readAllLines(path).stream()
-                .map(String::trim).filter(s -> !s.isEmpty()).toList();
-        if (lines.isEmpty()) throw new InputFormatException("Empty input");
+        BufferedReader in = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8.newDecoder()), READ_BUFFER_SIZE);
+        try {
+            return new LineMissionReader(in);
+        } catch (RuntimeException | IOException e) {
+            in.close();
+            throw e;
+        }
+    }
 
-        //Plateau
-        String[] plateauLine = lines.get(0).trim().split("\\s+");
+    /** Same as {@link #open(Path)} for an already opened source; the reader is closed with the returned stream. */
+    public MissionReader open(BufferedReader in) throws IOException {
+        return new LineMissionReader(in);
+    }
+
+    /** Streaming reader over a mission in NDJSON, see {@link NdjsonMissionReader} for the format. */
+    public MissionReader openNdjson(Reader in) throws IOException {
+        return new NdjsonMissionReader(in);
+    }
+
+    /**
+     * Open the mission as a memory-mapped file. Commands lines are never copied: each plan carries a
+     * {@link MappedCommandTape} pointing into the mapping. Falls back to {@link #open(Path)} for
+     * anything that cannot be mapped (pipes, devices).
+     */
+    public MissionReader map(Path path) throws IOException {
+        return map(path, 1);
+    }
+
+    /**
+     * Same as {@link #map(Path)}, parsing byte ranges of the file on {@code threads} threads, see
+     * {@link ParallelMissionReader}; plans, their order and error messages are unchanged. Files
+     * under a few MiB are parsed on the calling thread.
+     */
+    public MissionReader map(Path path, int threads) throws IOException {
+        if (!Files.exists(path)) throw new IOException("file not found: " + path);
+        if (!Files.isRegularFile(path)) return open(path);
+        MappedFile file = MappedFile.map(path);
+        MappedMissionReader head = head(file);
+        if (threads <= 1 || file.size() - head.bytesConsumed() < 2 * ParallelMissionReader.MIN_CHUNK) return head;
+        return new ParallelMissionReader(file, head, threads);
+    }
+
+    /**
+     * Same as {@link #map(Path, int)}, resuming a mission after its first {@code rovers} plans:
+     * {@code from} is where the next plan starts, as told by {@link MissionReader#bytesConsumed()},
+     * and plans are numbered after the skipped ones. Only for a file that can be mapped.
+     */
+    public MissionReader map(Path path, int threads, long from, int rovers) throws IOException {
+        if (!Files.isRegularFile(path)) throw new IOException("not a regular file: " + path);
+        MappedFile file = MappedFile.map(path);
+        if (from > file.size()) throw new IOException("resume offset " + from + " past the end of " + path);
+        MappedMissionReader head = new MappedMissionReader(file, head(file).plateau(), from, rovers);
+        if (threads <= 1 || file.size() - head.bytesConsumed() < 2 * ParallelMissionReader.MIN_CHUNK) return head;
+        return new ParallelMissionReader(file, head, threads);
+    }
+
+    /** Reader of a whole mapped file; a plateau line that is not UTF-8 fails as in {@link #open(Path)}. */
+    private static MappedMissionReader head(MappedFile file) throws IOException {
+        try {
+            return new MappedMissionReader(file);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static Plateau parsePlateau(String line) {
+        String[] plateauLine = line.split("\\s+");
         if (plateauLine.length != 2) throw new InputFormatException("Plateau line must be <maxX> <maxY>");
         int maxX, maxY;
         try { maxX = Integer.parseInt(plateauLine[0]); maxY = Integer.parseInt(plateauLine[1]); }
         catch (NumberFormatException e) { throw new InputFormatException("Plateau coordinates must be integers"); }
-        Plateau plateau = new Plateau(maxX, maxY);
+        return new Plateau(maxX, maxY);
+    }
 
-        //rovers
-        List<RoverPlan> roverPlans = new ArrayList<>();
-        Iterator<String> restLines = lines.subList(1, lines.size()).iterator();
-        int pairIndex = 0;
-        while (restLines.hasNext()) {
-            pairIndex++;
+    /** Parse a position line; the caller validates {@code cmdLine} afterwards so errors keep their order. */
+    static RoverPlan parseRover(int pairIndex, String posLine, CharSequence cmdLine) {
+        String[] parts = posLine.split("\\s+");
+        if (parts.length != 3)
+            throw new InputFormatException("Invalid position line for rover #" + pairIndex + ": " + posLine +
+                    "Rover position line must be: <x> <y> <dir>");
+
+        int x, y;
+        try {
+            x = Integer.parseInt(parts[0]);
+            y = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new InputFormatException("Invalid coordinates for rover #" + pairIndex + ": " + posLine);
+        }
+        Direction dir = Direction.fromChar(parts[2].charAt(0));
+
+        return new RoverPlan(new Position(x, y), dir, cmdLine);
+    }
+
+    /**
+     * Pull-based view over a mission file. Blank lines are skipped and every line is trimmed,
+     * exactly like {@link #parser(Path)}; only the current pair of lines is held in memory.
+     * I/O failures while iterating surface as {@link UncheckedIOException}.
+     */
+    public interface MissionReader extends Iterator<RoverPlan>, Closeable {
+        Plateau plateau();
+
+        /** Number of rover plans handed out so far. */
+        int roverCount();
+
+        /**
+         * Bytes of input behind the plans handed out so far, i.e. the offset where the next plan starts
+         * (the input size once exhausted); {@code -1} if the reader cannot tell.
+         */
+        default long bytesConsumed() {
+            return -1;
+        }
+    }
 
-            String posLine = restLines.next();
-            if (!restLines.hasNext()) throw new InputFormatException("Missing commands line for rover #" + pairIndex);
+    private static final class LineMissionReader implements MissionReader {
+        private final BufferedReader in;
+        private final Plateau plateau;
+        private String pending;
+        private int pairIndex = 0;
 
-            String cmdLine = restLines.next();
+        private LineMissionReader(BufferedReader in) throws IOException {
+            this.in = in;
+            String first = nextLine();
+            if (first == null) throw new InputFormatException("Empty input");
+            this.plateau = parsePlateau(first);
+            this.pending = nextLine();
+        }
+
+        @Override
+        public Plateau plateau() {
+            return plateau;
+        }
+
+        @Override
+        public int roverCount() {
+            return pairIndex;
+        }
 
-            String[] parts = posLine.split("\\s+");
-            if (parts.length != 3)
-                throw new InputFormatException("Invalid position line for rover #" + pairIndex + ": " + posLine +
-                        "Rover position line must be: <x> <y> <dir>");
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
 
-            int x, y;
+        @Override
+        public RoverPlan next() {
+            if (pending == null) throw new NoSuchElementException();
+            pairIndex++;
             try {
-                x = Integer.parseInt(parts[0]);
-                y = Integer.parseInt(parts[1]);
-            } catch (NumberFormatException e) {
-                throw new InputFormatException("Invalid coordinates for rover #" + pairIndex + ": " + posLine);
+                String posLine = pending;
+                String cmdLine = nextLine();
+                if (cmdLine == null) {
+                    pending = null;
+                    throw new InputFormatException("Missing commands line for rover #" + pairIndex);
+                }
+                RoverPlan plan = parseRover(pairIndex, posLine, cmdLine);
+                for (int i = 0; i < cmdLine.length(); i++) Command.fromChar(cmdLine.charAt(i)); // validate L/R/M only
+                pending = nextLine();
+                return plan;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-            Direction dir = Direction.fromChar(parts[2].charAt(0));
+        }
 
-            for (char c : cmdLine.toCharArray()) Command.fromChar(c); // validate L/R/M only
+        private String nextLine() throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) return line;
+            }
+            return null;
+        }
 
-            roverPlans.add(new RoverPlan(new Position(x, y), dir, cmdLine));
+        @Override
+        public void close() throws IOException {
+            in.close();
         }
-        return new Mission(plateau, roverPlans);
     }
 }
@@ -0,0 +1,52 @@
+package org.example.Parser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Commands line that lives in a {@link MappedFile}: only an offset and a length are kept,
+ * characters are read straight from the mapping. The parser has already checked that every
+ * byte is an ASCII {@code L/R/M} (any case), so a byte is a char.
+ */
+public final class MappedCommandTape implements CharSequence {
+    private final MappedFile file;
+    private final long offset;
+    private final int length;
+    private final ByteBuffer window; // null when the line straddles two windows
+    private final int base;
+
+    MappedCommandTape(MappedFile file, long offset, int length) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.window = file.windowFor(offset, length);
+        this.base = (int) (offset & MappedFile.WINDOW_MASK);
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+        if (window != null) return (char) window.get(base + index);
+        return (char) file.get(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) throw new IndexOutOfBoundsException();
+        return new MappedCommandTape(file, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(file.bytes(offset, length), StandardCharsets.US_ASCII);
+    }
+}
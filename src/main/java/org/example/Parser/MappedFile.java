@@ -0,0 +1,83 @@
+package org.example.Parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only mapping of a whole file, split in 1 GiB windows so files larger than
+ * {@link Integer#MAX_VALUE} bytes can be addressed with a plain {@code long} offset.
+ * The mapping stays valid after the channel is closed and is released by the GC.
+ */
+public final class MappedFile {
+    static final int WINDOW_SHIFT = 30;
+    static final long WINDOW_SIZE = 1L << WINDOW_SHIFT;
+    static final long WINDOW_MASK = WINDOW_SIZE - 1;
+
+    private final Path path;
+    private final long size;
+    private final MappedByteBuffer[] windows;
+
+    private MappedFile(Path path, long size, MappedByteBuffer[] windows) {
+        this.path = path;
+        this.size = size;
+        this.windows = windows;
+    }
+
+    public static MappedFile map(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            int count = (int) ((size + WINDOW_MASK) >>> WINDOW_SHIFT);
+            MappedByteBuffer[] windows = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i << WINDOW_SHIFT;
+                windows[i] = ch.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+            }
+            return new MappedFile(path, size, windows);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public byte get(long offset) {
+        return windows[(int) (offset >>> WINDOW_SHIFT)].get((int) (offset & WINDOW_MASK));
+    }
+
+    /**
+     * The window holding {@code [offset, offset + length)}, or {@code null} when the range
+     * straddles two windows. Index into it with {@code offset & WINDOW_MASK}.
+     */
+    ByteBuffer windowFor(long offset, long length) {
+        int first = (int) (offset >>> WINDOW_SHIFT);
+        if (length > 0 && (int) ((offset + length - 1) >>> WINDOW_SHIFT) != first) return null;
+        return first < windows.length ? windows[first] : null;
+    }
+
+    /** Copy of {@code [offset, offset + length)}; only used for short lines and error messages. */
+    byte[] bytes(long offset, int length) {
+        byte[] out = new byte[length];
+        copy(offset, out, length);
+        return out;
+    }
+
+    /** Bulk copy of {@code [offset, offset + length)} to the start of {@code dst}, across windows if needed. */
+    void copy(long offset, byte[] dst, int length) {
+        for (int done = 0; done < length; ) {
+            long at = offset + done;
+            ByteBuffer window = windows[(int) (at >>> WINDOW_SHIFT)];
+            int index = (int) (at & WINDOW_MASK);
+            int n = Math.min(length - done, window.limit() - index);
+            window.get(index, dst, done, n);
+            done += n;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.Parser;
+
+import org.example.Exception.InputFormatException;
+import org.example.Model.Command;
+import org.example.Model.Direction;
+import org.example.Model.Plateau;
+import org.example.Model.Position;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link InputParser.MissionReader} over a {@link MappedFile}. Lines are located by scanning bytes,
+ * trimmed like {@link String#trim()} and blank ones skipped, so the accepted input and the error
+ * messages are those of the line based reader. Position lines are parsed from their bytes, without
+ * a String or a regex; anything but the plain {@code <int> <int> <dir>} form is decoded and goes
+ * through the line based reader's parsing, which reports the error. Commands lines are found and
+ * validated in one pass of {@link CommandScanner} over the mapping and handed out as
+ * {@link MappedCommandTape}s. Whatever is decoded must be valid UTF-8: a malformed line fails with
+ * a {@link java.nio.charset.MalformedInputException} in an {@link UncheckedIOException}, as in the
+ * line based reader.
+ */
+final class MappedMissionReader implements InputParser.MissionReader {
+    private final MappedFile file;
+    private final Plateau plateau;
+    private long cursor = 0;
+    // bounds of the last line found by nextLine()
+    private long lineStart, lineEnd;
+    // end of the run of command bytes at the start of the last line, when looking for a commands line
+    private long commandsEnd;
+    private final byte[] chunk = new byte[CommandScanner.CHUNK];
+    private final CharsetDecoder utf8 = StandardCharsets.UTF_8.newDecoder();
+    // value of the last integer parsed by integer()
+    private int parsed;
+    private boolean hasPending;
+    private long pendingStart, pendingEnd;
+    private int pairIndex = 0;
+
+    MappedMissionReader(MappedFile file) {
+        this.file = file;
+        if (!nextLine(false)) throw new InputFormatException("Empty input");
+        this.plateau = InputParser.parsePlateau(decode(lineStart, lineEnd));
+        advancePending();
+    }
+
+    /**
+     * Reader of the plans whose position line starts at or after {@code from}, a line start, numbered
+     * after {@code pairIndex} earlier ones; used to parse a file in parts, see {@link ParallelMissionReader}.
+     */
+    MappedMissionReader(MappedFile file, Plateau plateau, long from, int pairIndex) {
+        this.file = file;
+        this.plateau = plateau;
+        this.cursor = from;
+        this.pairIndex = pairIndex;
+        advancePending();
+    }
+
+    @Override
+    public Plateau plateau() {
+        return plateau;
+    }
+
+    @Override
+    public int roverCount() {
+        return pairIndex;
+    }
+
+    @Override
+    public long bytesConsumed() {
+        return hasPending ? pendingStart : file.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasPending;
+    }
+
+    @Override
+    public InputParser.RoverPlan next() {
+        if (!hasPending) throw new NoSuchElementException();
+        pairIndex++;
+        if (!nextLine(true)) {
+            hasPending = false;
+            throw new InputFormatException("Missing commands line for rover #" + pairIndex);
+        }
+        long cmdStart = lineStart, cmdEnd = lineEnd;
+        if (cmdEnd - cmdStart > Integer.MAX_VALUE)
+            throw new InputFormatException("Commands line too long for rover #" + pairIndex);
+        var tape = new MappedCommandTape(file, cmdStart, (int) (cmdEnd - cmdStart));
+        InputParser.RoverPlan plan = parseRover(pendingStart, pendingEnd, tape);
+        if (commandsEnd < cmdEnd) validateCommands(commandsEnd, cmdEnd);
+        advancePending();
+        return plan;
+    }
+
+    private void advancePending() {
+        hasPending = nextLine(false);
+        pendingStart = lineStart;
+        pendingEnd = lineEnd;
+    }
+
+    private void validateCommands(long start, long end) {
+        for (long p = start; p < end; p++) {
+            byte b = file.get(p);
+            switch (b) {
+                case 'L', 'R', 'M', 'l', 'r', 'm' -> { }
+                // throws with the same message as the line reader, which decodes the whole line first
+                default -> Command.fromChar(decode(p, end).charAt(0));
+            }
+        }
+    }
+
+    /**
+     * Find the next non-blank trimmed line after {@link #cursor}; {@code false} at end of file.
+     * @param commands skip the leading run of command bytes in bulk and record its end in {@link #commandsEnd}
+     */
+    private boolean nextLine(boolean commands) {
+        long size = file.size();
+        while (cursor < size) {
+            long start = cursor;
+            long end = start;
+            if (commands) {
+                for (byte b; end < size && (b = file.get(end)) != '\n' && b != '\r' && (b & 0xFF) <= ' '; ) end++;
+                end = commandsEnd = CommandScanner.INSTANCE.span(file, end, size, chunk);
+            }
+            while (end < size) {
+                byte b = file.get(end);
+                if (b == '\n' || b == '\r') break;
+                end++;
+            }
+            cursor = end < size ? end + 1 : end;
+            // String.trim() semantics: strip every char <= ' '
+            while (start < end && (file.get(start) & 0xFF) <= ' ') start++;
+            while (end > start && (file.get(end - 1) & 0xFF) <= ' ') end--;
+            if (start < end) {
+                lineStart = start;
+                lineEnd = end;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** {@link InputParser#parseRover} on the bytes of a position line. */
+    private InputParser.RoverPlan parseRover(long start, long end, CharSequence commands) {
+        long p = integer(start, end);
+        if (p > 0) {
+            int x = parsed;
+            p = integer(blanks(p, end), end);
+            if (p > 0) {
+                int y = parsed;
+                p = blanks(p, end);
+                Direction dir = p > 0 ? direction(p, end) : null;
+                if (dir != null) return new InputParser.RoverPlan(new Position(x, y), dir, commands);
+            }
+        }
+        // not the plain form: the String parser has the error messages
+        return InputParser.parseRover(pairIndex, decode(start, end), commands);
+    }
+
+    /**
+     * Parse an optionally signed decimal {@code int} at {@code p} into {@link #parsed}.
+     * @return offset after it, or {@code -1} unless it is followed by a blank
+     */
+    private long integer(long p, long end) {
+        if (p < 0 || p >= end) return -1;
+        byte b = file.get(p);
+        boolean negative = b == '-';
+        if (b == '-' || b == '+') p++;
+        long value = 0;
+        long first = p;
+        for (; p < end && (b = file.get(p)) >= '0' && b <= '9'; p++) {
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE + 1L) return -1;
+        }
+        if (p == first || p == end || !blank(file.get(p))) return -1;
+        if (negative) value = -value;
+        if (value > Integer.MAX_VALUE) return -1;
+        parsed = (int) value;
+        return p;
+    }
+
+    /** @return offset after the blanks at {@code p}, or {@code -1} if there are none */
+    private long blanks(long p, long end) {
+        if (p < 0 || p >= end || !blank(file.get(p))) return -1;
+        while (p < end && blank(file.get(p))) p++;
+        return p;
+    }
+
+    /** The whitespace of {@code split("\\s+")} that can occur inside a line. */
+    static boolean blank(byte b) {
+        return b == ' ' || b == '\t' || b == 0x0B || b == '\f';
+    }
+
+    /** Direction of a last token starting with an ASCII {@code N/E/S/W}; {@code null} otherwise. */
+    private Direction direction(long p, long end) {
+        Direction dir = switch (file.get(p) & 0xDF) {
+            case 'N' -> Direction.N;
+            case 'E' -> Direction.E;
+            case 'S' -> Direction.S;
+            case 'W' -> Direction.W;
+            default -> null;
+        };
+        long token = p;
+        boolean ascii = true;
+        for (p++; p < end; p++) {
+            byte b = file.get(p);
+            if (blank(b)) return null; // a fourth token
+            ascii &= b >= 0;
+        }
+        if (!ascii) decode(token, end); // only its first char counts, but the line must be valid UTF-8
+        return dir;
+    }
+
+    private String decode(long start, long end) {
+        byte[] bytes = file.bytes(start, (int) Math.min(end - start, Integer.MAX_VALUE - 8));
+        try {
+            return utf8.decode(ByteBuffer.wrap(bytes)).toString();
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // the mapping is released once the last tape referencing it is unreachable
+    }
+}
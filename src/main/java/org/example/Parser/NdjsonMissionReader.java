@@ -0,0 +1,108 @@
+package org.example.Parser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.Exception.InputFormatException;
+import org.example.Model.Command;
+import org.example.Model.Direction;
+import org.example.Model.Plateau;
+import org.example.Model.Position;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Mission as NDJSON, one object per line, pulled one rover at a time:
+ * <pre>
+ * {"maxX":5,"maxY":5}
+ * {"x":1,"y":2,"dir":"N","commands":"LMLMLMLMM"}
+ * </pre>
+ * Malformed JSON and missing or mistyped fields are {@link InputFormatException}s; commands and
+ * directions are validated with the same messages as the text format.
+ */
+final class NdjsonMissionReader implements InputParser.MissionReader {
+    private static final ObjectReader READER = new ObjectMapper().readerFor(JsonNode.class);
+
+    private final MappingIterator<JsonNode> lines;
+    private final Plateau plateau;
+    private int pairIndex = 0;
+
+    NdjsonMissionReader(Reader in) throws IOException {
+        JsonNode first;
+        try {
+            this.lines = READER.readValues(in);
+            if (!lines.hasNextValue()) throw new InputFormatException("Empty input");
+            first = lines.nextValue();
+        } catch (JsonProcessingException e) {
+            throw invalidJson(0, e);
+        }
+        if (!isInt(first.path("maxX")) || !isInt(first.path("maxY")))
+            throw new InputFormatException("Plateau must be {\"maxX\":<int>,\"maxY\":<int>}");
+        this.plateau = new Plateau(first.get("maxX").intValue(), first.get("maxY").intValue());
+    }
+
+    @Override
+    public Plateau plateau() {
+        return plateau;
+    }
+
+    @Override
+    public int roverCount() {
+        return pairIndex;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return lines.hasNextValue();
+        } catch (JsonProcessingException e) {
+            throw invalidJson(pairIndex + 1, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public InputParser.RoverPlan next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        pairIndex++;
+        JsonNode rover;
+        try {
+            rover = lines.nextValue();
+        } catch (JsonProcessingException e) {
+            throw invalidJson(pairIndex, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        JsonNode x = rover.path("x"), y = rover.path("y"), dir = rover.path("dir"), commands = rover.path("commands");
+        if (!isInt(x) || !isInt(y))
+            throw new InputFormatException("Invalid coordinates for rover #" + pairIndex + ": " + rover);
+        if (!dir.isTextual() || dir.textValue().length() != 1)
+            throw new InputFormatException("Invalid direction for rover #" + pairIndex + ": " + rover);
+        if (!commands.isTextual())
+            throw new InputFormatException("Missing commands for rover #" + pairIndex);
+        Direction direction = Direction.fromChar(dir.textValue().charAt(0));
+        String cmds = commands.textValue();
+        for (int i = 0; i < cmds.length(); i++) Command.fromChar(cmds.charAt(i)); // validate L/R/M only
+        return new InputParser.RoverPlan(new Position(x.intValue(), y.intValue()), direction, cmds);
+    }
+
+    private static boolean isInt(JsonNode n) {
+        return n.isIntegralNumber() && n.canConvertToInt();
+    }
+
+    private static InputFormatException invalidJson(int pairIndex, JsonProcessingException e) {
+        return new InputFormatException("Invalid JSON" + (pairIndex > 0 ? " for rover #" + pairIndex : "")
+                + ": " + e.getOriginalMessage());
+    }
+
+    @Override
+    public void close() throws IOException {
+        lines.close();
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.Parser;
+
+import org.example.Model.Plateau;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link InputParser.MissionReader} that parses a {@link MappedFile} in byte ranges on a pool of
+ * threads, and hands the plans out in file order, exactly as {@link MappedMissionReader} would.
+ * <p>
+ * After the plateau line, the file is cut every {@code chunk} bytes. Each cut is moved to the start
+ * of the first position line after it: the next non-blank line that has a blank inside, since a
+ * valid commands line has none. A task then parses the plans whose position line starts between
+ * its cut and the next one, numbering them from 0. A task stops after {@link #MAX_PLANS} plans, and
+ * the rest of its range becomes a new task, submitted ahead of the others once the consumer reaches
+ * the first part. Tasks are submitted a few chunks ahead of the consumer, so at most about
+ * {@code (2 * threads + 2) * MAX_PLANS} plans are held, however small the plans of a chunk.
+ * <p>
+ * On the consumer side, a chunk is accepted as parsed only if it starts exactly where the plans
+ * before it ended and parsed without error. Otherwise (an invalid file, or a cut misplaced by
+ * invalid lines) its range is parsed again, sequentially, from where the previous plans ended and
+ * with the rover numbering of a sequential parse, so plans and error messages are those of
+ * {@link MappedMissionReader}, errors included raised only after the plans before them.
+ */
+final class ParallelMissionReader implements InputParser.MissionReader {
+    /** Smallest and largest byte range given to one task. */
+    static final long MIN_CHUNK = 1 << 20;
+    static final long MAX_CHUNK = 64L << 20;
+    /** Most plans one task parses; the rest of its range is left to another task. */
+    static final int MAX_PLANS = 1 << 16;
+
+    /**
+     * Plans of {@code [start, limit)}; {@code end} is where the next plan starts, {@code starts} where each
+     * one does. {@code more}: the task stopped at {@link #MAX_PLANS}, {@code [end, limit)} is still to parse.
+     */
+    private record Chunk(long start, long limit, long end, List<InputParser.RoverPlan> plans, long[] starts,
+                         boolean failed, boolean more) {}
+
+    private final MappedFile file;
+    private final Plateau plateau;
+    private final long first;
+    private final long chunkSize;
+    private final int chunkCount;
+    private final ExecutorService pool;
+    private final ArrayDeque<Future<Chunk>> ahead = new ArrayDeque<>();
+    private final int maxAhead;
+    private int submitted;
+
+    // where the next plan starts in a sequential parse, and plans handed out so far
+    private long expected;
+    private int pairIndex;
+    // source of the next plans: an accepted chunk, or a sequential re-parse up to a limit
+    private Chunk chunk;
+    private int index;
+    private MappedMissionReader sequential;
+    private long sequentialLimit;
+
+    /** @param head reader positioned on the first plan to hand out, with nothing read past it */
+    ParallelMissionReader(MappedFile file, MappedMissionReader head, int threads) {
+        this.file = file;
+        this.plateau = head.plateau();
+        this.first = head.bytesConsumed();
+        this.expected = first;
+        this.pairIndex = head.roverCount();
+        long rest = file.size() - first;
+        this.chunkSize = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, rest / (threads * 8L)));
+        this.chunkCount = (int) Math.max(1, (rest + chunkSize - 1) / chunkSize);
+        this.pool = Executors.newWorkStealingPool(threads);
+        this.maxAhead = threads * 2;
+    }
+
+    @Override
+    public Plateau plateau() {
+        return plateau;
+    }
+
+    @Override
+    public int roverCount() {
+        return pairIndex;
+    }
+
+    @Override
+    public long bytesConsumed() {
+        return expected;
+    }
+
+    @Override
+    public boolean hasNext() {
+        for (;;) {
+            if (sequential != null) {
+                if (sequential.hasNext() && sequential.bytesConsumed() < sequentialLimit) return true;
+                expected = sequential.bytesConsumed();
+                sequential = null;
+            }
+            if (chunk != null && index < chunk.plans().size()) return true;
+            chunk = nextChunk();
+            index = 0;
+            if (chunk == null) return false;
+            if (!chunk.failed() && chunk.start() == expected) {
+                expected = chunk.end();
+                if (chunk.more()) {
+                    long start = chunk.end(), limit = chunk.limit();
+                    ahead.addFirst(pool.submit(() -> parse(start, limit)));
+                }
+            } else {
+                if (expected < chunk.limit()) {
+                    sequential = new MappedMissionReader(file, plateau, expected, pairIndex);
+                    sequentialLimit = chunk.limit();
+                }
+                chunk = null;
+            }
+        }
+    }
+
+    @Override
+    public InputParser.RoverPlan next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        pairIndex++;
+        if (sequential != null) {
+            InputParser.RoverPlan plan = sequential.next();
+            expected = sequential.bytesConsumed();
+            return plan;
+        }
+        InputParser.RoverPlan plan = chunk.plans().get(index++);
+        expected = index < chunk.plans().size() ? chunk.starts()[index] : chunk.end();
+        return plan;
+    }
+
+    /** The next chunk in file order, after topping up the tasks running ahead; {@code null} after the last. */
+    private Chunk nextChunk() {
+        while (ahead.size() < maxAhead && submitted < chunkCount) {
+            int k = submitted++;
+            ahead.add(pool.submit(() -> parse(k)));
+        }
+        Future<Chunk> next = ahead.poll();
+        if (next == null) return null;
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** Parses chunk {@code k}. */
+    private Chunk parse(int k) {
+        byte[] scratch = new byte[CommandScanner.CHUNK];
+        long start = k == 0 ? first : align(first + k * chunkSize, scratch);
+        long limit = k + 1 < chunkCount ? align(first + (k + 1) * chunkSize, scratch) : Long.MAX_VALUE;
+        return parse(start, limit);
+    }
+
+    /** Parses up to {@link #MAX_PLANS} plans of {@code [start, limit)}; any failure is left for the sequential re-parse to report. */
+    private Chunk parse(long start, long limit) {
+        if (start >= limit) return new Chunk(start, limit, start, Collections.emptyList(), new long[0], false, false);
+        List<InputParser.RoverPlan> plans = new ArrayList<>();
+        long[] starts = new long[64];
+        try {
+            MappedMissionReader reader = new MappedMissionReader(file, plateau, start, 0);
+            while (reader.hasNext() && reader.bytesConsumed() < limit) {
+                if (plans.size() == MAX_PLANS)
+                    return new Chunk(start, limit, reader.bytesConsumed(), plans, starts, false, true);
+                if (plans.size() == starts.length) starts = Arrays.copyOf(starts, starts.length * 2);
+                starts[plans.size()] = reader.bytesConsumed();
+                plans.add(reader.next());
+            }
+            return new Chunk(start, limit, reader.bytesConsumed(), plans, starts, false, false);
+        } catch (RuntimeException e) {
+            return new Chunk(start, limit, start, Collections.emptyList(), new long[0], true, false);
+        }
+    }
+
+    /** Trimmed start of the first position line starting at or after {@code cut}, or the file size. */
+    private long align(long cut, byte[] scratch) {
+        long size = file.size();
+        long p = Math.min(cut, size);
+        if (p > 0 && !newline(file.get(p - 1))) p = lineEnd(p, scratch);
+        while (p < size) {
+            while (p < size && (file.get(p) & 0xFF) <= ' ') p++; // blank lines and leading blanks
+            if (p == size) break;
+            long start = p;
+            long end = lineEnd(p, scratch);
+            for (long q = start; q < end; q++) {
+                byte b = file.get(q);
+                if (MappedMissionReader.blank(b)) {
+                    // a blank followed by more than trailing blanks: a line of several tokens
+                    for (long r = q; r < end; r++) if ((file.get(r) & 0xFF) > ' ') return start;
+                    break;
+                }
+            }
+            p = end;
+        }
+        return size;
+    }
+
+    /** Offset of the line break (or end of file) ending the line at {@code p}; commands are skipped in bulk. */
+    private long lineEnd(long p, byte[] scratch) {
+        long size = file.size();
+        p = CommandScanner.INSTANCE.span(file, p, size, scratch);
+        while (p < size && !newline(file.get(p))) p++;
+        return p;
+    }
+
+    private static boolean newline(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.Parser;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link CommandScanner} checking a full vector of bytes per iteration: fold the case by clearing
+ * bit 5 ({@code b & 0xDF} maps {@code l/r/m} onto {@code L/R/M} and no other byte onto them),
+ * compare against {@code L}, {@code R} and {@code M}, and stop at the first lane that matched none. The
+ * tail shorter than a vector goes through the scalar loop. Only loaded by name when the
+ * {@code jdk.incubator.vector} module is present.
+ */
+final class VectorCommandScanner extends CommandScanner {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    int span(byte[] chunk, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            ByteVector u = ByteVector.fromArray(SPECIES, chunk, i).and((byte) 0xDF);
+            VectorMask<Byte> ok = u.eq((byte) 'L').or(u.eq((byte) 'R')).or(u.eq((byte) 'M'));
+            if (!ok.allTrue()) return i + ok.not().firstTrue();
+        }
+        return super.span(chunk, i, to);
+    }
+}
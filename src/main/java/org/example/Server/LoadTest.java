@@ -0,0 +1,85 @@
+package org.example.Server;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local load generator for {@link MissionServer}: {@code concurrency} virtual threads post the same
+ * mission back to back until {@code requests} have been sent, then latency percentiles and
+ * throughput are reported. A file ending in {@code .ndjson} is sent as {@code application/x-ndjson}.
+ */
+public final class LoadTest {
+    /** Latencies in nanoseconds, sorted; {@code failed} counts non-200 responses and I/O errors. */
+    public record Report(long[] latencies, long failed, long elapsedNanos) {
+        public long percentile(double p) {
+            if (latencies.length == 0) return 0;
+            int i = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(i, latencies.length - 1))];
+        }
+
+        public double throughput() {
+            return (latencies.length + failed) * 1e9 / elapsedNanos;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("requests %d, failed %d, %.1f req/s%n", latencies.length + failed, failed, throughput());
+            out.printf("latency p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    percentile(50) / 1e6, percentile(99) / 1e6, percentile(100) / 1e6);
+        }
+    }
+
+    private LoadTest() {}
+
+    public static Report run(URI endpoint, Path mission, int concurrency, int requests)
+            throws IOException, InterruptedException {
+        byte[] body = Files.readAllBytes(mission);
+        String contentType = mission.toString().endsWith(".ndjson") ? MissionServer.NDJSON : "text/plain";
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger ok = new AtomicInteger();
+        AtomicLong failed = new AtomicLong();
+        // the server only speaks HTTP/1.1, skip the h2c upgrade attempt
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (int w = 0; w < concurrency; w++) {
+                workers.submit(() -> {
+                    while (next.getAndIncrement() < requests) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> res = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (res.statusCode() == 200) latencies[ok.getAndIncrement()] = System.nanoTime() - t0;
+                            else failed.incrementAndGet();
+                        } catch (IOException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            long elapsed = System.nanoTime() - start;
+            long[] done = Arrays.copyOf(latencies, ok.get());
+            Arrays.sort(done);
+            return new Report(done, failed.get(), elapsed);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package org.example.Server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Exception.InputFormatException;
+import org.example.Exception.MissionAbortedException;
+import org.example.Output.ResultSink;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Long-running mission service on the JDK's {@link HttpServer}, one virtual thread per request.
+ * <ul>
+ *   <li>{@code POST /missions[?engine=step|segment|screened|compiled|parallel|lockstep][&mode=fail-fast|...]}: the body is a mission in the text
+ *   format, or in NDJSON when sent as {@code application/x-ndjson} (see {@link InputParser#openNdjson}).
+ *   The response has one line per rover, NDJSON by default
+ *   ({@code {"roverId":1,"status":"COMPLETED","pos":{"x":1,"y":3},"dir":"N"}}, plus {@code fault},
+ *   {@code step}, {@code command} and {@code attempted} for a stopped rover), or the command line
+ *   output {@code "1 3 N"} when the client accepts {@code text/plain}. An invalid mission is a 400
+ *   with {@code {"error":"..."}}; a mission aborted by {@code fail-fast} is a 200 that ends with the
+ *   stopped rover.</li>
+ *   <li>{@code GET /health}: 200 once the server is up.</li>
+ * </ul>
+ * Every request runs on its own {@link org.example.Model.Plateau}, so missions never see each
+ * other's rovers. The body is parsed while rovers execute; results are buffered so that an input
+ * error found half-way still gets a proper status. Events of all requests go to the same logger.
+ * <p>
+ * Memory is bounded by {@link Limits}: at most {@code maxRequests} missions run at once, others get
+ * a 503; a body or a response over its limit is a 413. A request then holds at most a 16 MiB
+ * plateau, the rovers of its body and its response. Any other failure is a 500 with
+ * {@code {"error":"..."}}.
+ */
+public final class MissionServer implements Closeable {
+    static final String NDJSON = "application/x-ndjson";
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * Bounds on what requests may hold.
+     * @param maxRequests      missions running at once
+     * @param maxBodyBytes     size of a posted mission
+     * @param maxResponseBytes size of the results of a mission
+     */
+    public record Limits(int maxRequests, long maxBodyBytes, long maxResponseBytes) {
+        public static Limits defaults() {
+            return new Limits(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), 16L << 20, 16L << 20);
+        }
+    }
+
+    private final HttpServer http;
+    private final ExecutorService executor;
+    private final String engine;
+    private final Event logger;
+    private final Limits limits;
+    private final Semaphore running;
+    private final InputParser parser = new InputParser();
+
+    private MissionServer(HttpServer http, String engine, Event logger, Limits limits) {
+        this.http = http;
+        this.engine = engine;
+        this.logger = logger;
+        this.limits = limits;
+        this.running = new Semaphore(limits.maxRequests());
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        http.setExecutor(executor);
+        http.createContext("/missions", this::missions);
+        http.createContext("/health", ex -> respond(ex, 200, "text/plain", "ok\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Binds {@code address} (port 0 picks a free port) and starts serving, with the default limits. */
+    public static MissionServer start(InetSocketAddress address, String engine, Event logger) throws IOException {
+        return start(address, engine, logger, Limits.defaults());
+    }
+
+    /**
+     * Binds {@code address} (port 0 picks a free port) and starts serving. Set
+     * {@code sun.net.httpserver.nodelay} before the first server of the JVM starts: headers and body
+     * are written separately, and without TCP_NODELAY every keep-alive response waits out the
+     * client's delayed ACK (~40 ms).
+     */
+    public static MissionServer start(InetSocketAddress address, String engine, Event logger, Limits limits)
+            throws IOException {
+        MissionServer server = new MissionServer(HttpServer.create(address, 0), engine, logger, limits);
+        server.http.start();
+        return server;
+    }
+
+    public int port() {
+        return http.getAddress().getPort();
+    }
+
+    private void missions(HttpExchange ex) throws IOException {
+        if (!ex.getRequestMethod().equals("POST")) {
+            ex.getResponseHeaders().add("Allow", "POST");
+            respond(ex, 405, "text/plain", "POST a mission\n".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        if (!running.tryAcquire()) {
+            ex.getResponseHeaders().set("Retry-After", "1");
+            error(ex, 503, "Too many missions running, at most " + limits.maxRequests());
+            return;
+        }
+        try {
+            run(ex);
+        } catch (RuntimeException e) {
+            error(ex, 500, "Internal error: " + e);
+        } finally {
+            running.release();
+        }
+    }
+
+    private void run(HttpExchange ex) throws IOException {
+        String requestEngine = query(ex.getRequestURI(), "engine", engine);
+        if (!MissionRunner.isEngine(requestEngine)) {
+            error(ex, 400, "Unknown engine: " + requestEngine);
+            return;
+        }
+        ExecutionPolicy policy;
+        try {
+            policy = ExecutionPolicy.of(query(ex.getRequestURI(), "mode", ExecutionPolicy.FAIL_FAST_PER_ROVER.mode));
+        } catch (IllegalArgumentException e) {
+            error(ex, 400, e.getMessage());
+            return;
+        }
+        String length = ex.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && length.chars().allMatch(Character::isDigit) && length.length() < 19
+                && Long.parseLong(length) > limits.maxBodyBytes()) {
+            error(ex, 413, "Mission over " + limits.maxBodyBytes() + " bytes");
+            return;
+        }
+        String contentType = ex.getRequestHeaders().getFirst("Content-Type");
+        String accept = ex.getRequestHeaders().getFirst("Accept");
+        boolean text = accept != null && accept.startsWith("text/plain");
+
+        CappedOutputStream body = new CappedOutputStream(limits.maxResponseBytes());
+        BufferedReader in = new BufferedReader(new InputStreamReader(
+                new CappedInputStream(ex.getRequestBody(), limits.maxBodyBytes()), StandardCharsets.UTF_8.newDecoder()));
+        try (InputParser.MissionReader mission = contentType != null && contentType.startsWith(NDJSON)
+                ? parser.openNdjson(in) : parser.open(in);
+             ResultSink results = ResultSink.open(text ? ResultSink.Format.TEXT : ResultSink.Format.NDJSON,
+                     Channels.newChannel(body), false)) {
+            MissionRunner.run(mission, requestEngine, policy, logger, null, results);
+        } catch (MissionAbortedException e) {
+            // the stopped rover is the last result of the response
+        } catch (InputFormatException e) {
+            error(ex, 400, e.getMessage());
+            return;
+        } catch (IOException e) {
+            failed(ex, e);
+            return;
+        } catch (UncheckedIOException e) {
+            failed(ex, e.getCause());
+            return;
+        }
+        respond(ex, 200, text ? "text/plain; charset=utf-8" : NDJSON, body.toByteArray());
+    }
+
+    /** Answers a request whose body could not be read or whose response could not be buffered. */
+    private static void failed(HttpExchange ex, IOException e) throws IOException {
+        if (e instanceof CharacterCodingException) error(ex, 400, "Mission is not valid UTF-8");
+        else if (e instanceof OverLimitException) error(ex, 413, e.getMessage());
+        else ex.close();
+    }
+
+    private static void error(HttpExchange ex, int status, String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator json = JSON.createGenerator(body)) {
+            json.writeStartObject();
+            json.writeStringField("error", message);
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+        respond(ex, status, "application/json", body.toByteArray());
+    }
+
+    private static void respond(HttpExchange ex, int status, String contentType, byte[] body) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", contentType);
+        ex.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /** Value of {@code name} in the query string, {@code fallback} if absent. */
+    static String query(URI uri, String name, String fallback) {
+        String q = uri.getRawQuery();
+        if (q == null) return fallback;
+        for (String pair : q.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) return pair.substring(eq + 1);
+        }
+        return fallback;
+    }
+
+    /** A request body or response over its limit. */
+    private static final class OverLimitException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        OverLimitException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class CappedInputStream extends FilterInputStream {
+        private final long max;
+        private long left;
+
+        CappedInputStream(InputStream in, long max) {
+            super(in);
+            this.max = max;
+            left = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            // one byte past the limit tells a body of exactly the limit from a longer one
+            int n = super.read(b, off, (int) Math.min(len, left + 1));
+            if (n > 0 && (left -= n) < 0) throw new OverLimitException("Mission over " + max + " bytes");
+            return n;
+        }
+    }
+
+    private static final class CappedOutputStream extends ByteArrayOutputStream {
+        private final long max;
+
+        CappedOutputStream(long max) {
+            this.max = max;
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (count + (long) len > max) throw new UncheckedIOException(new OverLimitException("Results over " + max + " bytes"));
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+    }
+
+    /** Stops accepting requests, lets running ones finish for up to a second. */
+    @Override
+    public void close() {
+        http.stop(1);
+        executor.close();
+    }
+}
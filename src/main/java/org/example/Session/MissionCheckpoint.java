@@ -0,0 +1,265 @@
+package org.example.Session;
+
+import org.example.Model.ExecutionResult;
+import org.example.Model.Occupancy;
+import org.example.Model.Plateau;
+import org.example.Output.ResultSink;
+import org.example.Parser.InputParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Periodic checkpoints of a mission run, so that a run killed part way is resumed from its last
+ * checkpoint instead of from rover #1. Results go through {@link #accept} after the results sink;
+ * every {@code every} rovers the sink is flushed and a checkpoint records the rovers done, the input
+ * offset of the next plan, the bytes of results written and the plateau occupancy.
+ * <p>
+ * Occupancy only grows, one cell per rover (its final position), so it is kept as an append-only
+ * log of packed cells (see {@link Occupancy#pack}) in {@code <file>.cells}, each checkpoint adding
+ * the cells of its rovers. A checkpoint is committed by writing its header next to {@code <file>}
+ * and renaming it over {@code <file>} once the log is on disk: a crash at any point leaves the
+ * previous checkpoint whole, log entries past its cell count being ignored. Both files are written
+ * on a background thread; a checkpoint falling due while the previous one is still being written is
+ * left for the next interval, its rovers' cells staying in memory.
+ * <p>
+ * Header layout (little endian): {@code "RVC1"}, version, maxX, maxY, rovers, results format
+ * ordinal (int); then input size, input offset, results bytes and cell count (long).
+ * Only for sequential engines, which read no plan ahead of the rover they report.
+ */
+public final class MissionCheckpoint implements Consumer<ExecutionResult>, Closeable {
+    static final int MAGIC = 0x31435652; // "RVC1" read as a little endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 56;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    /** A committed checkpoint: the first {@code rovers} rovers of the input are done. */
+    public record State(int maxX, int maxY, int rovers, ResultSink.Format format, long inputSize, long inputOffset,
+                        long resultBytes, long cells) {}
+
+    private final Path file;
+    private final Path log;
+    private final int every;
+    private final InputParser.MissionReader mission;
+    private final ResultSink results;
+    private final ResultSink.Format format;
+    private final long inputSize;
+    private final long resultBase;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "mission-checkpoint");
+        t.setDaemon(true);
+        return t;
+    });
+    private Future<?> inFlight;
+    private final FileChannel out; // the cells log, only used on the writer thread
+
+    private int rovers;
+    private long cells;
+    // cells of the rovers since the last checkpoint handed to the writer
+    private long[] pending = new long[1024];
+    private int pendingCount;
+
+    /**
+     * Starts checkpointing a run into {@code file}: a new one, or the continuation of {@code from}.
+     * @param mission    reader of the run, positioned after the plans of {@code from} if any
+     * @param results    where results go before reaching {@link #accept}, counted from the end of
+     *                   {@code from}'s results
+     * @param inputSize  size of the input file, to tell on resume that it is the same input
+     */
+    public MissionCheckpoint(Path file, int every, InputParser.MissionReader mission, ResultSink results,
+                             ResultSink.Format format, long inputSize, State from) throws IOException {
+        if (mission.bytesConsumed() < 0) throw new IOException("checkpoints need a regular input file");
+        this.file = file;
+        this.log = logOf(file);
+        this.every = every;
+        this.mission = mission;
+        this.results = results;
+        this.format = format;
+        this.inputSize = inputSize;
+        if (from == null) {
+            Files.deleteIfExists(file); // before the log it refers to
+            out = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            resultBase = 0;
+        } else {
+            out = FileChannel.open(log, StandardOpenOption.WRITE);
+            out.truncate(from.cells() * Long.BYTES); // cells of a checkpoint that was never committed
+            out.position(from.cells() * Long.BYTES);
+            rovers = from.rovers();
+            cells = from.cells();
+            resultBase = from.resultBytes();
+        }
+    }
+
+    @Override
+    public void accept(ExecutionResult res) {
+        // a rover stopped on its occupied start cell adds no cell
+        if (!(res instanceof ExecutionResult.Stopped s && s.stepIndex() == 0
+                && s.fault() == ExecutionResult.Fault.OCCUPIED)) {
+            if (pendingCount == pending.length) pending = Arrays.copyOf(pending, pendingCount * 2);
+            pending[pendingCount++] = Occupancy.pack(res.position().x(), res.position().y());
+        }
+        if (++rovers % every == 0) checkpoint();
+    }
+
+    private void checkpoint() {
+        if (inFlight != null) {
+            if (!inFlight.isDone()) return;
+            await();
+        }
+        try {
+            results.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long[] batch = pending;
+        int count = pendingCount;
+        cells += count;
+        State state = new State(mission.plateau().maxX(), mission.plateau().maxY(), rovers, format, inputSize,
+                mission.bytesConsumed(), resultBase + results.bytesWritten(), cells);
+        pending = new long[Math.max(1024, count)];
+        pendingCount = 0;
+        inFlight = writer.submit(() -> {
+            write(batch, count, state);
+            return null;
+        });
+    }
+
+    /** Appends the cells to the log, then commits the header; on the writer thread. */
+    private void write(long[] batch, int count, State state) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            if (!buf.hasRemaining()) drain(out, buf);
+            buf.putLong(batch[i]);
+        }
+        drain(out, buf);
+        out.force(false);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel header = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buf.putInt(MAGIC).putInt(VERSION).putInt(state.maxX()).putInt(state.maxY()).putInt(state.rovers())
+                    .putInt(state.format().ordinal()).putLong(state.inputSize()).putLong(state.inputOffset())
+                    .putLong(state.resultBytes()).putLong(state.cells());
+            drain(header, buf);
+            header.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void drain(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+
+    /** Waits for the checkpoint being written; its failure is the run's. */
+    private void await() {
+        try {
+            inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing a checkpoint", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw new UncheckedIOException(io);
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            inFlight = null;
+        }
+    }
+
+    /** Rovers done, including those of the checkpoint resumed from. */
+    public int roverCount() {
+        return rovers;
+    }
+
+    /** The run went to its end: its checkpoint files are deleted. */
+    public void finish() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(log);
+    }
+
+    /** Waits for the checkpoint being written, if any, and leaves the files for a resume. */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (inFlight != null) await();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.shutdown();
+            out.close();
+        }
+    }
+
+    /** @return the last checkpoint committed into {@code file}, or {@code null} if there is none */
+    public static State load(Path file) throws IOException {
+        if (!Files.exists(file)) return null;
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.remaining() != HEADER_BYTES || buf.getInt() != MAGIC) throw new IOException("not a mission checkpoint: " + file);
+        int version = buf.getInt();
+        if (version != VERSION) throw new IOException("unsupported checkpoint version " + version);
+        int maxX = buf.getInt(), maxY = buf.getInt(), rovers = buf.getInt(), format = buf.getInt();
+        if (format < 0 || format >= ResultSink.Format.values().length) throw new IOException("not a mission checkpoint: " + file);
+        return new State(maxX, maxY, rovers, ResultSink.Format.values()[format], buf.getLong(), buf.getLong(),
+                buf.getLong(), buf.getLong());
+    }
+
+    /** Occupies the cells of the rovers of {@code state} on {@code plateau}. */
+    public static void restore(Path file, State state, Plateau plateau) throws IOException {
+        if (plateau.maxX() != state.maxX() || plateau.maxY() != state.maxY())
+            throw new IOException("Plateau line does not match the checkpoint: " + state.maxX() + " " + state.maxY());
+        try (FileChannel in = FileChannel.open(logOf(file), StandardOpenOption.READ)) {
+            if (in.size() < state.cells() * Long.BYTES) throw new IOException("truncated checkpoint: " + logOf(file));
+            ByteBuffer buf = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN).flip();
+            for (long c = 0; c < state.cells(); c++) {
+                if (buf.remaining() < Long.BYTES) {
+                    buf.compact();
+                    while (buf.position() < Long.BYTES && in.read(buf) >= 0) {
+                        // keep reading
+                    }
+                    buf.flip();
+                }
+                long cell = buf.getLong();
+                plateau.occupy(Occupancy.unpackX(cell), Occupancy.unpackY(cell));
+            }
+        }
+    }
+
+    /**
+     * Cuts {@code out} back to the results of the checkpoint, dropping those written after it, so that
+     * the resumed run appends exactly the missing ones.
+     * @return {@code false} if {@code out} is not a file holding all the results of the checkpoint
+     * (a pipe, a terminal, or a file that was truncated); only the missing results are then written
+     */
+    public static boolean rewind(FileChannel out, long resultBytes) {
+        try {
+            if (out.size() < resultBytes) return false;
+            out.truncate(resultBytes);
+            out.position(resultBytes);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Path logOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".cells");
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.Session;
+
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Exception.MissionAbortedException;
+import org.example.Model.Direction;
+import org.example.Model.ExecutionResult;
+import org.example.Model.Occupancy;
+import org.example.Model.Plateau;
+import org.example.Model.Position;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+import org.example.metrics.RunMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A plateau that lives across submissions: rovers are executed one at a time or in batches
+ * against the occupancy left by every earlier rover, and numbered after them. State can be
+ * queried between submissions and saved to a snapshot, so a later process continues the session
+ * without re-executing its rovers. Methods are synchronized; rovers of concurrent submissions
+ * never interleave.
+ * <p>
+ * Snapshot layout (little endian): a {@value #HEADER_BYTES}-byte header {@code "RVS1"}, version,
+ * maxX, maxY, rover count, reserved int, completed and stopped counts (long), number of occupied
+ * cells (long); then one packed cell (see {@link Occupancy#pack}) per occupied cell.
+ */
+public final class PlateauSession {
+    static final int MAGIC = 0x31535652; // "RVS1" read as a little endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 48;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final Plateau plateau;
+    private final String engine;
+    private final Event logger;
+    private int roverCount;
+    private long completed, stopped;
+
+    /**
+     * @param plateau starting plateau, usually empty; the session owns it from now on
+     * @param engine  one of {@link MissionRunner#ENGINES} or {@link MissionRunner#LOCKSTEP}
+     */
+    public PlateauSession(Plateau plateau, String engine, Event logger) {
+        if (!MissionRunner.isEngine(engine)) throw new IllegalArgumentException("Unknown engine: " + engine);
+        this.plateau = plateau;
+        this.engine = engine;
+        this.logger = logger;
+    }
+
+    public PlateauSession(int maxX, int maxY, String engine, Event logger) {
+        this(new Plateau(maxX, maxY), engine, logger);
+    }
+
+    /** Executes one rover after all the rovers submitted so far. */
+    public ExecutionResult submit(Position position, Direction direction, CharSequence commands) {
+        return submit(List.of(new InputParser.RoverPlan(position, direction, commands)).iterator()).get(0);
+    }
+
+    /**
+     * Executes a batch in order. If a plan turns out to be invalid, the rovers before it stay
+     * landed and counted, and the {@link org.example.Exception.InputFormatException} is rethrown.
+     * @return results in rover order
+     */
+    public List<ExecutionResult> submit(Iterator<InputParser.RoverPlan> plans) {
+        List<ExecutionResult> results = new ArrayList<>();
+        submit(plans, results::add);
+        return results;
+    }
+
+    /** Same as {@link #submit(Iterator)}, handing each result to {@code sink} as soon as its rover has landed. */
+    public int submit(Iterator<InputParser.RoverPlan> plans, Consumer<ExecutionResult> sink) {
+        return submit(plans, ExecutionPolicy.FAIL_FAST_PER_ROVER, null, sink);
+    }
+
+    /**
+     * @param metrics records the batch, see {@link MissionRunner#execute}; {@code null} for none
+     * @throws MissionAbortedException in fail-fast mode; the rovers that landed before it stay on the plateau
+     */
+    public synchronized int submit(Iterator<InputParser.RoverPlan> plans, ExecutionPolicy policy, RunMetrics metrics,
+                                   Consumer<ExecutionResult> sink) {
+        if (metrics != null) metrics.occupiedCells(plateau::occupiedCount);
+        return MissionRunner.execute(plans, plateau, roverCount + 1, engine, policy, logger, metrics, res -> {
+            roverCount++;
+            if (res instanceof ExecutionResult.Stopped) stopped++;
+            else completed++;
+            sink.accept(res);
+        });
+    }
+
+    public int maxX() {
+        return plateau.maxX();
+    }
+
+    public int maxY() {
+        return plateau.maxY();
+    }
+
+    public synchronized boolean isOccupied(int x, int y) {
+        return plateau.isOccupied(x, y);
+    }
+
+    public synchronized long occupiedCount() {
+        return plateau.occupiedCount();
+    }
+
+    /** Rovers executed in this session, including those restored from a snapshot. */
+    public synchronized int roverCount() {
+        return roverCount;
+    }
+
+    public synchronized long completedCount() {
+        return completed;
+    }
+
+    public synchronized long stoppedCount() {
+        return stopped;
+    }
+
+    /** Writes a snapshot next to {@code file} and renames it over {@code file}, so a crash never leaves half a snapshot. */
+    public synchronized void save(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(plateau.maxX()).putInt(plateau.maxY())
+                    .putInt(roverCount).putInt(0).putLong(completed).putLong(stopped)
+                    .putLong(plateau.occupiedCount());
+            IOException[] failure = new IOException[1];
+            plateau.forEachOccupied(cell -> {
+                if (failure[0] != null) return;
+                if (!buf.hasRemaining()) {
+                    try {
+                        write(out, buf);
+                    } catch (IOException e) {
+                        failure[0] = e;
+                        return;
+                    }
+                }
+                buf.putLong(cell);
+            });
+            if (failure[0] != null) throw failure[0];
+            write(out, buf);
+            out.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void write(FileChannel out, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+
+    /** Restores a session saved by {@link #save}; rovers submitted next are numbered after the saved ones. */
+    public static PlateauSession load(Path file, String engine, Event logger) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            fill(in, buf);
+            if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC)
+                throw new IOException("not a plateau snapshot: " + file);
+            int version = buf.getInt();
+            if (version != VERSION) throw new IOException("unsupported snapshot version " + version);
+            int maxX = buf.getInt(), maxY = buf.getInt(), rovers = buf.getInt();
+            buf.getInt();
+            long completed = buf.getLong(), stopped = buf.getLong(), cells = buf.getLong();
+            if (in.size() != HEADER_BYTES + cells * Long.BYTES)
+                throw new IOException("truncated plateau snapshot: " + file);
+
+            PlateauSession session = new PlateauSession(maxX, maxY, engine, logger);
+            for (long c = 0; c < cells; c++) {
+                if (buf.remaining() < Long.BYTES) {
+                    buf.compact();
+                    fill(in, buf);
+                }
+                long cell = buf.getLong();
+                session.plateau.occupy(Occupancy.unpackX(cell), Occupancy.unpackY(cell));
+            }
+            session.roverCount = rovers;
+            session.completed = completed;
+            session.stopped = stopped;
+            return session;
+        }
+    }
+
+    /** Reads until the buffer is full or the file ends; leaves it ready to get. */
+    private static void fill(FileChannel in, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining() && in.read(buf) >= 0) {
+            // keep reading
+        }
+        buf.flip();
+    }
+}
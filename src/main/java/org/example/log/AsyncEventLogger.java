@@ -0,0 +1,265 @@
+package org.example.log;
+
+import org.example.Model.Direction;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link Event} that encodes on the caller's thread into pre-allocated direct buffers and leaves
+ * the writing to a background thread.
+ * <p>
+ * A fixed ring of buffers circulates between the two threads: the caller fills one with
+ * {@link NdjsonEncoder}, hands it over when it is full and takes the next free one, blocking when
+ * the writer is behind, so events are never dropped. The writer drains full buffers to the channel
+ * in order; when none has come for {@link #FLUSH_INTERVAL_NANOS} it takes the caller's partial
+ * buffer itself, so the events of an idle logger reach the file within that interval. Per-step
+ * events ({@link #turn}, {@link #moveAttempt}, {@link #moved}) are encoded from their primitive
+ * fields.
+ * {@link #close()} hands over the last partial buffer, waits for the writer to drain everything
+ * and forces the file of {@link #open}; a shutdown hook does the same if the JVM exits without closing.
+ */
+public final class AsyncEventLogger implements Event {
+    static final int BATCH_BYTES = 1 << 20;
+    static final int BUFFERS = 4;
+    static final long FLUSH_INTERVAL_NANOS = 200_000_000L;
+
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final WritableByteChannel out;
+    private final boolean closeChannel;
+    private final boolean force;
+    private final boolean infoEnabled;
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> full;
+    private final NdjsonEncoder encoder;
+    private final Thread writer;
+    private final Thread shutdownHook;
+    private volatile IOException failure;
+    // guards the encoder and its buffer, taken by callers and, without waiting, by the writer
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lastHandOff = System.nanoTime();
+    private boolean closed;
+
+    /** Events written to {@code out}, which is never forced: a channel may be a pipe or a terminal. */
+    public AsyncEventLogger(WritableByteChannel out, boolean closeChannel, boolean infoEnabled) {
+        this(out, closeChannel, infoEnabled, false);
+    }
+
+    private AsyncEventLogger(WritableByteChannel out, boolean closeChannel, boolean infoEnabled, boolean force) {
+        this.out = out;
+        this.closeChannel = closeChannel;
+        this.force = force;
+        this.infoEnabled = infoEnabled;
+        this.free = new ArrayBlockingQueue<>(BUFFERS);
+        this.full = new ArrayBlockingQueue<>(BUFFERS + 1);
+        for (int i = 1; i < BUFFERS; i++) free.add(ByteBuffer.allocateDirect(BATCH_BYTES));
+        this.encoder = new NdjsonEncoder(ByteBuffer.allocateDirect(BATCH_BYTES), this::handOff);
+        this.writer = new Thread(this::drain, "event-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        this.shutdownHook = new Thread(this::close, "event-writer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /** Events appended to {@code file}, which is created if needed; only a regular file is forced on close. */
+    public static AsyncEventLogger open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        return new AsyncEventLogger(ch, true, true, Files.isRegularFile(file));
+    }
+
+    /** Events written to the process' standard error, like the log4j console appender. */
+    public static AsyncEventLogger stderr() {
+        // a FileChannel, but stderr is often a pipe or /dev/null, which cannot be forced
+        return new AsyncEventLogger(Channels.newChannel(new FileOutputStream(FileDescriptor.err)), false, true, false);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return infoEnabled;
+    }
+
+    @Override
+    public void info(String type, String message, Object... kv) {
+        if (infoEnabled) log("INFO", type, message, kv);
+    }
+
+    @Override
+    public void warn(String type, String message, Object... kv) {
+        log("WARN", type, message, kv);
+    }
+
+    @Override
+    public void error(String type, String message, Object... kv) {
+        log("ERROR", type, message, kv);
+    }
+
+    @Override
+    public void turn(String message, int roverId, int step, Direction dir) {
+        if (!infoEnabled) return;
+        lock.lock();
+        try {
+            if (closed) return;
+            encoder.beginStep(System.currentTimeMillis(), Thread.currentThread().getName(), "INFO", "TURN", message, roverId, step);
+            encoder.dir(dir);
+            encoder.end();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void moveAttempt(int roverId, int step, int x, int y, int toX, int toY, Direction dir) {
+        if (!infoEnabled) return;
+        lock.lock();
+        try {
+            if (closed) return;
+            encoder.beginStep(System.currentTimeMillis(), Thread.currentThread().getName(), "INFO", "MOVE_ATTEMPT", "move", roverId, step);
+            encoder.key("from");
+            encoder.position(x, y);
+            encoder.key("to");
+            encoder.position(toX, toY);
+            encoder.dir(dir);
+            encoder.end();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void moved(int roverId, int step, int x, int y, Direction dir) {
+        if (!infoEnabled) return;
+        lock.lock();
+        try {
+            if (closed) return;
+            encoder.beginStep(System.currentTimeMillis(), Thread.currentThread().getName(), "INFO", "MOVE_OK", "moved", roverId, step);
+            encoder.key("pos");
+            encoder.position(x, y);
+            encoder.dir(dir);
+            encoder.end();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void log(String level, String type, String message, Object... kv) {
+        lock.lock();
+        try {
+            if (closed) return;
+            encoder.encode(System.currentTimeMillis(), Thread.currentThread().getName(), level, type, message, kv);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Buffers written by the caller but not yet drained by the writer thread. */
+    public int queueDepth() {
+        return full.size();
+    }
+
+    private ByteBuffer handOff(ByteBuffer filled) {
+        lastHandOff = System.nanoTime();
+        try {
+            if (filled.position() == 0) return filled;
+            filled.flip();
+            full.put(filled);
+            return free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while handing events to the writer", e);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (;;) {
+                ByteBuffer b = full.poll(FLUSH_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+                if (b == null) b = takePending();
+                if (b == END) return;
+                if (b != null) write(b);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The caller's partial buffer, swapped for a free one, when it has been pending for
+     * {@link #FLUSH_INTERVAL_NANOS}; {@code null} when there is nothing to take or a caller holds the
+     * lock (it may be waiting for a free buffer, and the writer must not wait for it). Only when no
+     * full buffer is queued: handing off happens under the same lock, so the partial buffer is then
+     * the next one in order.
+     */
+    private ByteBuffer takePending() {
+        if (!lock.tryLock()) return null;
+        try {
+            ByteBuffer pending = encoder.buffer();
+            if (closed || pending.position() == 0 || !full.isEmpty()
+                    || System.nanoTime() - lastHandOff < FLUSH_INTERVAL_NANOS) return null;
+            ByteBuffer next = free.poll();
+            if (next == null) return null;
+            encoder.buffer(next);
+            lastHandOff = System.nanoTime();
+            return pending.flip();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(ByteBuffer b) throws InterruptedException {
+        try {
+            while (b.hasRemaining()) out.write(b);
+        } catch (IOException e) {
+            failure = e; // keep recycling so the caller never blocks on a dead writer
+        }
+        b.clear();
+        free.put(b);
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            handOff(encoder.buffer());
+            full.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+            if (force && out instanceof FileChannel fc) fc.force(false);
+            if (closeChannel) out.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            if (failure == null) failure = e;
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // already shutting down
+            }
+        }
+        if (failure != null) throw new UncheckedIOException("event log write failed", failure);
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.log;
+
+import org.example.Model.Direction;
+import org.example.Model.ExecutionResult;
+import org.example.Model.Position;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link Event} that appends fixed-width binary records instead of JSON text.
+ * <p>
+ * File layout (little endian): a {@value #HEADER_BYTES}-byte header {@code "RVJ1"}, version,
+ * epoch millis of the first record; then one {@value #RECORD_BYTES}-byte record per event:
+ * <pre>
+ *  0 code     byte   {@link JournalKind} code (type and msg)
+ *  1 level    byte   0 INFO, 1 WARN, 2 ERROR
+ *  2 heading  byte   {@link Direction} ordinal, 0xFF if none
+ *  3 fault    byte   {@link ExecutionResult.Fault} ordinal, 0xFF if none
+ *  4 roverId  int
+ *  8 step     int
+ * 12 x, y     int, int   pos / from / attempted / maxX, maxY
+ * 20 x2, y2   int, int   to
+ * 28 millis   int    since the header's epoch millis
+ * </pre>
+ * Records go through a large direct buffer and a {@link FileChannel}. Per-step events are written
+ * from their primitive fields; the values of other events are read by position, in the order of
+ * their {@link JournalKind}'s fields. Events outside the catalogue, or with other fields, are not
+ * representable and are counted in {@link #dropped()}.
+ * {@link JournalExporter} turns a journal back into the NDJSON stream.
+ */
+public final class BinaryJournal implements Event {
+    static final int MAGIC = 0x314A5652; // "RVJ1" read as a little endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 32;
+    static final int BUFFER_BYTES = 4 << 20;
+    static final byte NONE = (byte) 0xFF;
+
+    private final FileChannel out;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final long epochMillis;
+    private final boolean force;
+    private long dropped;
+
+    private BinaryJournal(FileChannel out, long epochMillis, boolean force) {
+        this.out = out;
+        this.epochMillis = epochMillis;
+        this.force = force;
+        buf.putInt(MAGIC).putInt(VERSION).putLong(epochMillis);
+    }
+
+    public static BinaryJournal create(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new BinaryJournal(ch, System.currentTimeMillis(), Files.isRegularFile(file));
+    }
+
+    @Override
+    public void info(String type, String message, Object... kv) {
+        record(0, type, message, kv);
+    }
+
+    @Override
+    public void warn(String type, String message, Object... kv) {
+        record(1, type, message, kv);
+    }
+
+    @Override
+    public void error(String type, String message, Object... kv) {
+        record(2, type, message, kv);
+    }
+
+    /** Events that were not written because they are not in the catalogue. */
+    public synchronized long dropped() {
+        return dropped;
+    }
+
+    @Override
+    public void turn(String message, int roverId, int step, Direction dir) {
+        JournalKind kind = message.equals("turn left") ? JournalKind.TURN_LEFT
+                : message.equals("turn right") ? JournalKind.TURN_RIGHT : null;
+        write(kind, 0, (byte) dir.ordinal(), NONE, roverId, step, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void moveAttempt(int roverId, int step, int x, int y, int toX, int toY, Direction dir) {
+        write(JournalKind.MOVE_ATTEMPT, 0, (byte) dir.ordinal(), NONE, roverId, step, x, y, toX, toY);
+    }
+
+    @Override
+    public void moved(int roverId, int step, int x, int y, Direction dir) {
+        write(JournalKind.MOVE_OK, 0, (byte) dir.ordinal(), NONE, roverId, step, x, y, 0, 0);
+    }
+
+    /** Stores the values of {@code kv} by position, in the order of the kind's fields. */
+    private void record(int level, String type, String message, Object... kv) {
+        JournalKind kind = JournalKind.of(type, message);
+        if (kind == null || kv.length != 2 * kind.fields.length) {
+            write(null, level, NONE, NONE, 0, 0, 0, 0, 0, 0);
+            return;
+        }
+        byte heading = NONE, fault = NONE;
+        int roverId = 0, step = 0, x = 0, y = 0, x2 = 0, y2 = 0;
+        for (int i = 0; i < kind.fields.length; i++) {
+            Object v = kv[2 * i + 1];
+            switch (kind.fields[i]) {
+                case ROVER_ID -> roverId = (Integer) v;
+                case STEP -> step = (Integer) v;
+                case DIR -> heading = (byte) ((Direction) v).ordinal();
+                case FAULT -> fault = (byte) ((ExecutionResult.Fault) v).ordinal();
+                case POS, FROM, ATTEMPTED -> {
+                    x = ((Position) v).x();
+                    y = ((Position) v).y();
+                }
+                case TO -> {
+                    x2 = ((Position) v).x();
+                    y2 = ((Position) v).y();
+                }
+                case MAX_X -> x = (Integer) v;
+                case MAX_Y -> y = (Integer) v;
+            }
+        }
+        write(kind, level, heading, fault, roverId, step, x, y, x2, y2);
+    }
+
+    /** Appends one record; a {@code null} kind is counted as dropped. */
+    private synchronized void write(JournalKind kind, int level, byte heading, byte fault,
+                                    int roverId, int step, int x, int y, int x2, int y2) {
+        if (kind == null) {
+            dropped++;
+            return;
+        }
+        if (buf.remaining() < RECORD_BYTES) flush();
+        buf.put((byte) kind.code()).put((byte) level).put(heading).put(fault)
+                .putInt(roverId).putInt(step).putInt(x).putInt(y).putInt(x2).putInt(y2)
+                .putInt((int) (System.currentTimeMillis() - epochMillis));
+    }
+
+    private void flush() {
+        buf.flip();
+        try {
+            while (buf.hasRemaining()) out.write(buf);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buf.clear();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!out.isOpen()) return;
+        try {
+            flush();
+            if (force) out.force(false); // not supported by devices such as /dev/null
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
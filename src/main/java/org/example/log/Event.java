@@ -1,7 +1,54 @@
 package org.example.log;
 
+import org.example.Model.Direction;
+import org.example.Model.Position;
+
 public interface Event extends AutoCloseable{
+    /** Discards every event; step events are reported as disabled so callers skip building them. */
+    Event NOOP = new Event() {
+        @Override public void info(String type, String message, Object... kv) {}
+        @Override public void warn(String type, String message, Object... kv) {}
+        @Override public boolean isInfoEnabled() { return false; }
+    };
+
     void info(String type, String message, Object... kv);
     void warn(String type, String message, Object... kv);
+
+    /**
+     * INFO {@code TURN} event ({@code message} "turn left" or "turn right") with {@code roverId},
+     * {@code step} and {@code dir}. Like {@link #moveAttempt} and {@link #moved}, called once per
+     * command by the step engines: loggers that write fields themselves override it to skip the
+     * varargs array and the boxing.
+     */
+    default void turn(String message, int roverId, int step, Direction dir) {
+        info("TURN", message, "roverId", roverId, "step", step, "dir", dir);
+    }
+
+    /** INFO {@code MOVE_ATTEMPT} event with {@code roverId}, {@code step}, {@code from}, {@code to} and {@code dir}. */
+    default void moveAttempt(int roverId, int step, int x, int y, int toX, int toY, Direction dir) {
+        info("MOVE_ATTEMPT", "move", "roverId", roverId, "step", step,
+                "from", new Position(x, y), "to", new Position(toX, toY), "dir", dir);
+    }
+
+    /** INFO {@code MOVE_OK} event with {@code roverId}, {@code step}, {@code pos} and {@code dir}. */
+    default void moved(int roverId, int step, int x, int y, Direction dir) {
+        info("MOVE_OK", "moved", "roverId", roverId, "step", step, "pos", new Position(x, y), "dir", dir);
+    }
+
+    /** Events that end the mission; loggers without an ERROR level report them as warnings. */
+    default void error(String type, String message, Object... kv) { warn(type, message, kv); }
+
+    /** Callers on the hot path check this before boxing arguments for an {@link #info} call. */
+    default boolean isInfoEnabled() { return true; }
+
+    /**
+     * Whether INFO events of {@code type} are wanted for this rover at all. Meant to be asked once
+     * per rover and event type, before the command loop.
+     */
+    default boolean isEnabled(String type, int roverId) { return isInfoEnabled(); }
+
+    /** Keep one step event in this many for the rover: an event of step {@code s} is wanted when {@code s % n == 0}. */
+    default int stepSampling(int roverId) { return 1; }
+
     @Override default void close() {}
 }
@@ -17,11 +17,21 @@ public class EventLogger implements Event{
         log(Level.INFO, type, message, kv);
     }
 
+    @Override
+    public boolean isInfoEnabled() {
+        return LOG.isInfoEnabled();
+    }
+
     @Override
     public void warn(String type, String message, Object... kv) {
         log(Level.WARN, type, message, kv);
     }
 
+    @Override
+    public void error(String type, String message, Object... kv) {
+        log(Level.ERROR, type, message, kv);
+    }
+
     private static void log(Level level, String type, String msg, Object... kv) {
         Map<String, Object> payload = new LinkedHashMap<>();
         payload.put("type", type);
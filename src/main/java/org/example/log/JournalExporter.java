@@ -0,0 +1,110 @@
+package org.example.log;
+
+import org.example.Model.Direction;
+import org.example.Model.ExecutionResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts a {@link BinaryJournal} file back to the NDJSON event stream, one line per record with
+ * the fields of the original event in their original order. The thread name is not journaled and
+ * is written as {@code main}. A record with an unknown code, level, heading or fault fails the
+ * export with an {@link IOException} giving its offset; a partial record at the end, left by a
+ * process that died while writing, is ignored.
+ */
+public final class JournalExporter {
+    private static final Direction[] HEADINGS = Direction.values();
+    private static final ExecutionResult.Fault[] FAULTS = ExecutionResult.Fault.values();
+    private static final String[] LEVELS = {"INFO", "WARN", "ERROR"};
+
+    private JournalExporter() {}
+
+    /**
+     * @return number of records exported
+     * @throws IOException if {@code journal} cannot be read or is corrupt
+     */
+    public static long export(Path journal, WritableByteChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(journal, StandardOpenOption.READ)) {
+            ByteBuffer src = ByteBuffer.allocateDirect(BinaryJournal.BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer dst = ByteBuffer.allocateDirect(BinaryJournal.BUFFER_BYTES);
+            NdjsonEncoder json = new NdjsonEncoder(dst, full -> drain(full, out));
+
+            fill(in, src, BinaryJournal.HEADER_BYTES);
+            if (src.remaining() < BinaryJournal.HEADER_BYTES || src.getInt() != BinaryJournal.MAGIC)
+                throw new IOException("not a rover journal: " + journal);
+            int version = src.getInt();
+            if (version != BinaryJournal.VERSION) throw new IOException("unsupported journal version " + version);
+            long epochMillis = src.getLong();
+
+            long count = 0;
+            while (true) {
+                if (src.remaining() < BinaryJournal.RECORD_BYTES) {
+                    src.compact();
+                    fill(in, src, BinaryJournal.RECORD_BYTES);
+                    if (src.remaining() < BinaryJournal.RECORD_BYTES) break;
+                }
+                long offset = BinaryJournal.HEADER_BYTES + count * BinaryJournal.RECORD_BYTES;
+                int code = src.get() & 0xFF, level = src.get() & 0xFF;
+                int heading = src.get() & 0xFF, fault = src.get() & 0xFF;
+                JournalKind kind = JournalKind.ofCode(code);
+                if (kind == null) throw corrupt(offset, "unknown event code " + code);
+                if (level >= LEVELS.length) throw corrupt(offset, "unknown level " + level);
+                for (JournalKind.Field f : kind.fields) {
+                    if (f == JournalKind.Field.DIR && heading >= HEADINGS.length) throw corrupt(offset, "unknown heading " + heading);
+                    if (f == JournalKind.Field.FAULT && fault >= FAULTS.length) throw corrupt(offset, "unknown fault " + fault);
+                }
+                int roverId = src.getInt(), step = src.getInt();
+                int x = src.getInt(), y = src.getInt(), x2 = src.getInt(), y2 = src.getInt();
+                long millis = epochMillis + src.getInt();
+
+                json.begin(millis, "main", LEVELS[level], kind.type, kind.msg);
+                for (JournalKind.Field f : kind.fields) {
+                    json.key(f.key);
+                    switch (f) {
+                        case ROVER_ID -> json.number(roverId);
+                        case STEP -> json.number(step);
+                        case DIR -> json.string(HEADINGS[heading].name());
+                        case FAULT -> json.string(FAULTS[fault].name());
+                        case POS, FROM, ATTEMPTED -> json.position(x, y);
+                        case TO -> json.position(x2, y2);
+                        case MAX_X -> json.number(x);
+                        case MAX_Y -> json.number(y);
+                    }
+                }
+                json.end();
+                count++;
+            }
+            drain(json.buffer(), out);
+            return count;
+        }
+    }
+
+    private static IOException corrupt(long offset, String what) {
+        return new IOException("corrupt journal at offset " + offset + ": " + what);
+    }
+
+    /** Read until at least {@code min} bytes are buffered or the file ends; leaves {@code src} ready to get. */
+    private static void fill(FileChannel in, ByteBuffer src, int min) throws IOException {
+        while (src.position() < min && in.read(src) >= 0) {
+            // keep reading
+        }
+        src.flip();
+    }
+
+    private static ByteBuffer drain(ByteBuffer full, WritableByteChannel out) {
+        full.flip();
+        try {
+            while (full.hasRemaining()) out.write(full);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return full.clear();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.log;
+
+/**
+ * The events {@code Rover} engines and {@code Main} emit, one journal code each, with the fields
+ * they carry in the order they appear in the NDJSON message.
+ */
+enum JournalKind {
+    RUN_START("RUN_START", "begin", Field.MAX_X, Field.MAX_Y),
+    RUN_END("RUN_END", "end"),
+    ROVER_START("ROVER_START", "start rover", Field.ROVER_ID, Field.POS, Field.DIR),
+    TURN_LEFT("TURN", "turn left", Field.ROVER_ID, Field.STEP, Field.DIR),
+    TURN_RIGHT("TURN", "turn right", Field.ROVER_ID, Field.STEP, Field.DIR),
+    MOVE_ATTEMPT("MOVE_ATTEMPT", "move", Field.ROVER_ID, Field.STEP, Field.FROM, Field.TO, Field.DIR),
+    MOVE_OK("MOVE_OK", "moved", Field.ROVER_ID, Field.STEP, Field.POS, Field.DIR),
+    FAULT_START("FAULT", "start on occupied", Field.ROVER_ID, Field.FAULT, Field.STEP, Field.ATTEMPTED),
+    FAULT_OOB("FAULT", "out of bounds", Field.ROVER_ID, Field.FAULT, Field.STEP, Field.ATTEMPTED),
+    FAULT_OCCUPIED("FAULT", "cell occupied", Field.ROVER_ID, Field.FAULT, Field.STEP, Field.ATTEMPTED),
+    ROVER_COMPLETED("ROVER_COMPLETED", "completed", Field.ROVER_ID, Field.POS, Field.DIR),
+    ROVER_STOPPED("ROVER_STOPPED", "stopped", Field.ROVER_ID, Field.POS, Field.DIR),
+    // skip-step and fail-fast modes; appended so that older journals keep their codes
+    SKIPPED_OOB("SKIPPED", "out of bounds", Field.ROVER_ID, Field.FAULT, Field.STEP, Field.ATTEMPTED),
+    SKIPPED_OCCUPIED("SKIPPED", "cell occupied", Field.ROVER_ID, Field.FAULT, Field.STEP, Field.ATTEMPTED),
+    ABORT_MISSION("ABORT_MISSION", "abort", Field.ROVER_ID, Field.FAULT, Field.STEP);
+
+    /** Where each NDJSON field is stored in a record: x/y hold pos, from, attempted or maxX/maxY; x2/y2 hold to. */
+    enum Field {
+        ROVER_ID("roverId"), STEP("step"), DIR("dir"), FAULT("fault"),
+        POS("pos"), FROM("from"), ATTEMPTED("attempted"), TO("to"), MAX_X("maxX"), MAX_Y("maxY");
+
+        final String key;
+
+        Field(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final JournalKind[] BY_CODE = values();
+
+    final String type;
+    final String msg;
+    final Field[] fields;
+
+    JournalKind(String type, String msg, Field... fields) {
+        this.type = type;
+        this.msg = msg;
+        this.fields = fields;
+    }
+
+    /** Code stored in the journal; 0 is never used so a zeroed record is recognisable. */
+    int code() {
+        return ordinal() + 1;
+    }
+
+    /** @return the kind stored as {@code code}, or {@code null} when no kind has it */
+    static JournalKind ofCode(int code) {
+        return code < 1 || code > BY_CODE.length ? null : BY_CODE[code - 1];
+    }
+
+    /** @return the kind of an event, or {@code null} when it is not part of the catalogue */
+    static JournalKind of(String type, String msg) {
+        return switch (type) {
+            case "RUN_START" -> RUN_START;
+            case "RUN_END" -> RUN_END;
+            case "ROVER_START" -> ROVER_START;
+            case "TURN" -> msg.equals("turn left") ? TURN_LEFT : msg.equals("turn right") ? TURN_RIGHT : null;
+            case "MOVE_ATTEMPT" -> MOVE_ATTEMPT;
+            case "MOVE_OK" -> MOVE_OK;
+            case "FAULT" -> switch (msg) {
+                case "start on occupied" -> FAULT_START;
+                case "out of bounds" -> FAULT_OOB;
+                case "cell occupied" -> FAULT_OCCUPIED;
+                default -> null;
+            };
+            case "ROVER_COMPLETED" -> ROVER_COMPLETED;
+            case "ROVER_STOPPED" -> ROVER_STOPPED;
+            case "SKIPPED" -> msg.equals("out of bounds") ? SKIPPED_OOB : msg.equals("cell occupied") ? SKIPPED_OCCUPIED : null;
+            case "ABORT_MISSION" -> ABORT_MISSION;
+            default -> null;
+        };
+    }
+}
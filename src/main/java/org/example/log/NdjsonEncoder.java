@@ -0,0 +1,181 @@
+package org.example.log;
+
+import org.example.Model.Direction;
+import org.example.Model.Position;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes events as NDJSON straight into byte buffers, in the shape {@link EventLogger}'s
+ * {@code JsonLayout} produces ({@code instant}, {@code thread}, {@code level}, {@code loggerName},
+ * {@code message}). Numbers, positions and enums are written without intermediate Strings, maps
+ * or boxing; a single instance is reused for every event and is not thread-safe.
+ * <p>
+ * Output goes to the buffer returned by {@link Sink#next}, which is asked for a fresh buffer
+ * whenever the current one fills up, so an event may span two buffers that are written in order.
+ */
+public final class NdjsonEncoder {
+    /** Supplies the buffer to continue writing into once {@code full} has no room left. */
+    public interface Sink {
+        ByteBuffer next(ByteBuffer full);
+    }
+
+    private final Sink sink;
+    private ByteBuffer buf;
+    private final byte[] digits = new byte[20];
+
+    public NdjsonEncoder(ByteBuffer initial, Sink sink) {
+        this.buf = initial;
+        this.sink = sink;
+    }
+
+    public ByteBuffer buffer() {
+        return buf;
+    }
+
+    /** Switch to another buffer, typically after the current one was handed off. */
+    public void buffer(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    public void encode(long epochMillis, String thread, String level, String type, String msg, Object... kv) {
+        begin(epochMillis, thread, level, type, msg);
+        for (int i = 0; i + 1 < kv.length; i += 2) {
+            key(String.valueOf(kv[i]));
+            value(kv[i + 1]);
+        }
+        end();
+    }
+
+    /** Opens an event up to its {@code msg}; add fields with {@link #key} and a value, then {@link #end}. */
+    public void begin(long epochMillis, String thread, String level, String type, String msg) {
+        raw("{\"instant\":{\"epochSecond\":");
+        number(Math.floorDiv(epochMillis, 1000));
+        raw(",\"nanoOfSecond\":");
+        number(Math.floorMod(epochMillis, 1000) * 1_000_000L);
+        raw("},\"thread\":");
+        string(thread);
+        raw(",\"level\":");
+        string(level);
+        raw(",\"loggerName\":\"events\",\"message\":{\"type\":");
+        string(type);
+        raw(",\"msg\":");
+        string(msg);
+    }
+
+    /** Opens a per-step event: {@link #begin}, then its {@code roverId} and {@code step} fields. */
+    public void beginStep(long epochMillis, String thread, String level, String type, String msg, int roverId, int step) {
+        begin(epochMillis, thread, level, type, msg);
+        raw(",\"roverId\":");
+        number(roverId);
+        raw(",\"step\":");
+        number(step);
+    }
+
+    public void key(String key) {
+        put((byte) ',');
+        string(key);
+        put((byte) ':');
+    }
+
+    public void position(int x, int y) {
+        raw("{\"x\":");
+        number(x);
+        raw(",\"y\":");
+        number(y);
+        put((byte) '}');
+    }
+
+    /** A {@code "dir"} field, the last field of every per-step event. */
+    public void dir(Direction dir) {
+        raw(",\"dir\":");
+        string(dir.name());
+    }
+
+    public void end() {
+        raw("}}\n");
+    }
+
+    public void value(Object v) {
+        if (v == null) raw("null");
+        else if (v instanceof Integer i) number(i);
+        else if (v instanceof Long l) number(l);
+        else if (v instanceof Short || v instanceof Byte) number(((Number) v).longValue());
+        else if (v instanceof Boolean b) raw(b ? "true" : "false");
+        else if (v instanceof Position p) position(p.x(), p.y());
+        else if (v instanceof Enum<?> e) string(e.name());
+        else if (v instanceof Character c) string(String.valueOf(c.charValue()));
+        else if (v instanceof Number n) raw(n.toString());
+        else string(v.toString());
+    }
+
+    public void number(long v) {
+        if (v == Long.MIN_VALUE) {
+            raw("-9223372036854775808");
+            return;
+        }
+        if (v < 0) {
+            put((byte) '-');
+            v = -v;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        while (n > 0) put(digits[--n]);
+    }
+
+    /** JSON string with escaping; ASCII is copied byte per char, anything else encoded as UTF-8. */
+    public void string(String s) {
+        put((byte) '"');
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                put((byte) '\\');
+                put((byte) c);
+            } else if (c < 0x20) {
+                switch (c) {
+                    case '\n' -> raw("\\n");
+                    case '\r' -> raw("\\r");
+                    case '\t' -> raw("\\t");
+                    default -> {
+                        raw("\\u00");
+                        put(hex(c >> 4));
+                        put(hex(c & 0xF));
+                    }
+                }
+            } else if (c < 0x80) {
+                put((byte) c);
+            } else if (c < 0x800) {
+                put((byte) (0xC0 | (c >> 6)));
+                put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                put((byte) (0xF0 | (cp >> 18)));
+                put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                put((byte) (0x80 | (cp & 0x3F)));
+            } else {
+                put((byte) (0xE0 | (c >> 12)));
+                put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        put((byte) '"');
+    }
+
+    private static byte hex(int v) {
+        return (byte) (v < 10 ? '0' + v : 'a' + v - 10);
+    }
+
+    /** ASCII literal, copied as is. */
+    public void raw(String ascii) {
+        for (int i = 0, n = ascii.length(); i < n; i++) put((byte) ascii.charAt(i));
+    }
+
+    public void put(byte b) {
+        if (!buf.hasRemaining()) buf = sink.next(buf);
+        buf.put(b);
+    }
+}
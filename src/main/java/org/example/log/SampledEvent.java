@@ -0,0 +1,116 @@
+package org.example.log;
+
+import org.example.Model.Direction;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filters what reaches another {@link Event}:
+ * <ul>
+ *     <li>only event types in {@code types} are kept, a trailing {@code *} matching a prefix
+ *     ({@code ROVER_*}); {@code null} keeps every type;</li>
+ *     <li>INFO step events (those with a {@code step} field) are kept one in {@code every};</li>
+ *     <li>every event of the rovers in {@code rovers} is kept, whatever the two rules above say.</li>
+ * </ul>
+ * The decisions are exposed through {@link #isEnabled} and {@link #stepSampling} so that
+ * {@code Rover} engines skip disabled events before building their arguments.
+ */
+public final class SampledEvent implements Event {
+    private final Event delegate;
+    private final List<String> types;
+    private final int every;
+    private final BitSet rovers;
+    private final Map<String, Boolean> typeCache = new ConcurrentHashMap<>();
+
+    public SampledEvent(Event delegate, Collection<String> types, int every, BitSet rovers) {
+        if (every < 1) throw new IllegalArgumentException("sampling must be >= 1: " + every);
+        this.delegate = delegate;
+        this.types = types == null ? null : List.copyOf(types);
+        this.every = every;
+        this.rovers = rovers == null ? new BitSet() : (BitSet) rovers.clone();
+    }
+
+    private boolean selected(int roverId) {
+        return roverId >= 0 && rovers.get(roverId);
+    }
+
+    private boolean typeKept(String type) {
+        if (types == null) return true;
+        return typeCache.computeIfAbsent(type, t -> {
+            for (String pattern : types) {
+                if (pattern.endsWith("*") ? t.startsWith(pattern.substring(0, pattern.length() - 1)) : t.equals(pattern))
+                    return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return delegate.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isEnabled(String type, int roverId) {
+        return delegate.isEnabled(type, roverId) && (selected(roverId) || typeKept(type));
+    }
+
+    @Override
+    public int stepSampling(int roverId) {
+        return selected(roverId) ? 1 : every;
+    }
+
+    /** Same decision for callers that did not ask first: roverId and step are read from {@code kv}. */
+    private boolean kept(String type, boolean sampled, Object... kv) {
+        int roverId = -1, step = 0;
+        for (int i = 0; i + 1 < kv.length; i += 2) {
+            if ("roverId".equals(kv[i]) && kv[i + 1] instanceof Integer id) roverId = id;
+            else if ("step".equals(kv[i]) && kv[i + 1] instanceof Integer s) step = s;
+        }
+        if (selected(roverId)) return true;
+        return typeKept(type) && (!sampled || step % every == 0);
+    }
+
+    @Override
+    public void info(String type, String message, Object... kv) {
+        if (kept(type, true, kv)) delegate.info(type, message, kv);
+    }
+
+    private boolean stepKept(String type, int roverId, int step) {
+        return selected(roverId) || typeKept(type) && step % every == 0;
+    }
+
+    @Override
+    public void turn(String message, int roverId, int step, Direction dir) {
+        if (stepKept("TURN", roverId, step)) delegate.turn(message, roverId, step, dir);
+    }
+
+    @Override
+    public void moveAttempt(int roverId, int step, int x, int y, int toX, int toY, Direction dir) {
+        if (stepKept("MOVE_ATTEMPT", roverId, step)) delegate.moveAttempt(roverId, step, x, y, toX, toY, dir);
+    }
+
+    @Override
+    public void moved(int roverId, int step, int x, int y, Direction dir) {
+        if (stepKept("MOVE_OK", roverId, step)) delegate.moved(roverId, step, x, y, dir);
+    }
+
+    @Override
+    public void warn(String type, String message, Object... kv) {
+        if (kept(type, false, kv)) delegate.warn(type, message, kv); // faults are never sampled
+    }
+
+    @Override
+    public void error(String type, String message, Object... kv) {
+        if (kept(type, false, kv)) delegate.error(type, message, kv);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
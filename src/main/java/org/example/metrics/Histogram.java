@@ -0,0 +1,78 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram of non-negative longs in the style of HdrHistogram: values below
+ * {@value #SUB_BUCKETS} are counted exactly, larger ones in {@value #SUB_BUCKETS} linear
+ * sub-buckets per power of two, so a reported percentile is within 1/{@value #SUB_BUCKETS} of the
+ * recorded value. Every bucket is a {@link LongAdder}, so concurrent {@link #record} calls do
+ * not contend; reads are a consistent-enough snapshot for monitoring.
+ */
+public final class Histogram {
+    static final int SUB_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        for (int i = 0; i < BUCKETS; i++) counts[i] = new LongAdder();
+    }
+
+    /** Negative values are recorded as 0. */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[index(v)].increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    static int index(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int magnitude = 63 - Long.numberOfLeadingZeros(v);
+        return ((magnitude - SUB_BITS + 1) << SUB_BITS) + (int) ((v >>> (magnitude - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    /** Largest value that falls into bucket {@code index}. */
+    static long highestIn(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int magnitude = (index >>> SUB_BITS) + SUB_BITS - 1;
+        int shift = magnitude - SUB_BITS;
+        long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    public long count() {
+        long n = 0;
+        for (LongAdder c : counts) n += c.sum();
+        return n;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /** Smallest bucket bound below which {@code percentile} percent of the values fall, 0 when empty. */
+    public long percentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) n += snapshot[i] = counts[i].sum();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(highestIn(i), max());
+        }
+        return max();
+    }
+}
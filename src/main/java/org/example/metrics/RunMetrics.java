@@ -0,0 +1,314 @@
+package org.example.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jdk.jfr.FlightRecorder;
+import org.example.Model.ExecutionResult;
+import org.example.Parser.InputParser;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters of one mission run: steps, faults by {@link ExecutionResult.Fault}, per-rover latency,
+ * parse throughput, plus gauges for the occupancy size and the event queue depth. Counters are
+ * {@link LongAdder}s and latencies a {@link Histogram}, so recording costs a few uncontended adds
+ * per rover and nothing per step.
+ * <p>
+ * The run loop wraps its plans with {@link #timed} and reports each result with {@link #rover}.
+ * {@link #publish} exposes the metrics over JMX ({@value #OBJECT_NAME}) and as a periodic JFR
+ * event until {@link #close}; {@link #writeSummary} writes the final JSON summary.
+ */
+public final class RunMetrics implements RunMetricsMXBean, AutoCloseable {
+    public static final String OBJECT_NAME = "org.example:type=RunMetrics";
+    private static final ExecutionResult.Fault[] FAULTS = ExecutionResult.Fault.values();
+
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos = -1;
+    private final LongAdder rovers = new LongAdder();
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder[] faults = new LongAdder[FAULTS.length];
+    private final Histogram roverLatency = new Histogram();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder parsedRovers = new LongAdder();
+    private volatile LongSupplier parsedBytes = () -> -1;
+    private volatile LongSupplier occupiedCells = () -> 0;
+    private volatile LongSupplier eventQueueDepth = () -> 0;
+    private volatile LongSupplier programCacheHits = () -> 0;
+    private volatile LongSupplier programCacheMisses = () -> 0;
+
+    // commands per plan handed out by timed() and not yet reported, in rover order; run loop thread only
+    private int[] pending = new int[64];
+    private int head, tail;
+
+    private Runnable jfrHook;
+    private ObjectName registered;
+    private long lastSteps, lastNanos;
+
+    public RunMetrics() {
+        for (int i = 0; i < faults.length; i++) faults[i] = new LongAdder();
+    }
+
+    /** Registers the MXBean and the periodic JFR event; both are removed by {@link #close}. */
+    public RunMetrics publish() {
+        lastNanos = startNanos;
+        jfrHook = this::emitJfr;
+        FlightRecorder.addPeriodicEvent(RunMetricsEvent.class, jfrHook);
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) server.unregisterMBean(name); // an earlier run in this JVM
+            server.registerMBean(this, name);
+            registered = name;
+        } catch (JMException e) {
+            throw new IllegalStateException("cannot register " + OBJECT_NAME, e);
+        }
+        return this;
+    }
+
+    public void parsedBytes(LongSupplier bytes) {
+        this.parsedBytes = bytes;
+    }
+
+    public void occupiedCells(LongSupplier cells) {
+        this.occupiedCells = cells;
+    }
+
+    public void eventQueueDepth(LongSupplier depth) {
+        this.eventQueueDepth = depth;
+    }
+
+    /** Lookups of the compiled engine's program cache. */
+    public void programCache(LongSupplier hits, LongSupplier misses) {
+        this.programCacheHits = hits;
+        this.programCacheMisses = misses;
+    }
+
+    /** {@code plans} with the time spent in {@code next()} counted as parse time. */
+    public Iterator<InputParser.RoverPlan> timed(Iterator<InputParser.RoverPlan> plans) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return plans.hasNext();
+            }
+
+            @Override
+            public InputParser.RoverPlan next() {
+                long t0 = System.nanoTime();
+                InputParser.RoverPlan plan;
+                try {
+                    plan = plans.next();
+                } finally {
+                    parseNanos.add(System.nanoTime() - t0);
+                }
+                parsedRovers.increment();
+                push(plan.commands().length());
+                return plan;
+            }
+        };
+    }
+
+    private void push(int commands) {
+        if (tail - head == pending.length) {
+            pending = Arrays.copyOfRange(pending, head, head + pending.length * 2);
+            tail -= head;
+            head = 0;
+        } else if (tail == pending.length) {
+            System.arraycopy(pending, head, pending, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        pending[tail++] = commands;
+    }
+
+    /** Result of the oldest plan handed out by {@link #timed} that has not been reported yet. */
+    public void rover(ExecutionResult res, long nanos) {
+        int commands = head < tail ? pending[head++] : 0;
+        rovers.increment();
+        if (res instanceof ExecutionResult.Stopped s) {
+            steps.add(s.stepIndex());
+            faults[s.fault().ordinal()].increment();
+        } else {
+            steps.add(commands);
+        }
+        roverLatency.record(nanos);
+    }
+
+    public Histogram roverLatency() {
+        return roverLatency;
+    }
+
+    public long faults(ExecutionResult.Fault fault) {
+        return faults[fault.ordinal()].sum();
+    }
+
+    public long elapsedNanos() {
+        long end = endNanos;
+        return (end < 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+    private static double perSecond(long amount, long nanos) {
+        return nanos <= 0 ? 0 : amount * 1e9 / nanos;
+    }
+
+    @Override
+    public long getRovers() {
+        return rovers.sum();
+    }
+
+    @Override
+    public long getSteps() {
+        return steps.sum();
+    }
+
+    @Override
+    public double getStepsPerSecond() {
+        return perSecond(getSteps(), elapsedNanos());
+    }
+
+    @Override
+    public long getOutOfBoundsFaults() {
+        return faults(ExecutionResult.Fault.OUT_OF_BOUNDS);
+    }
+
+    @Override
+    public long getOccupiedFaults() {
+        return faults(ExecutionResult.Fault.OCCUPIED);
+    }
+
+    @Override
+    public long getRoverLatencyP50Nanos() {
+        return roverLatency.percentile(50);
+    }
+
+    @Override
+    public long getRoverLatencyP99Nanos() {
+        return roverLatency.percentile(99);
+    }
+
+    @Override
+    public long getParsedBytes() {
+        return parsedBytes.getAsLong();
+    }
+
+    @Override
+    public double getParsedBytesPerSecond() {
+        long bytes = getParsedBytes();
+        return bytes < 0 ? -1 : perSecond(bytes, parseNanos.sum());
+    }
+
+    @Override
+    public double getParsedRoversPerSecond() {
+        return perSecond(parsedRovers.sum(), parseNanos.sum());
+    }
+
+    @Override
+    public long getOccupiedCells() {
+        return occupiedCells.getAsLong();
+    }
+
+    @Override
+    public long getEventQueueDepth() {
+        return eventQueueDepth.getAsLong();
+    }
+
+    @Override
+    public long getProgramCacheHits() {
+        return programCacheHits.getAsLong();
+    }
+
+    @Override
+    public long getProgramCacheMisses() {
+        return programCacheMisses.getAsLong();
+    }
+
+    @Override
+    public double getProgramCacheHitRate() {
+        long hits = getProgramCacheHits(), lookups = hits + getProgramCacheMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private void emitJfr() {
+        RunMetricsEvent e = new RunMetricsEvent();
+        long now = System.nanoTime(), s = getSteps();
+        e.rovers = getRovers();
+        e.steps = s;
+        e.stepsPerSecond = perSecond(s - lastSteps, now - lastNanos);
+        e.outOfBoundsFaults = getOutOfBoundsFaults();
+        e.occupiedFaults = getOccupiedFaults();
+        e.roverLatencyP50 = getRoverLatencyP50Nanos();
+        e.roverLatencyP99 = getRoverLatencyP99Nanos();
+        e.parsedBytes = getParsedBytes();
+        e.occupiedCells = getOccupiedCells();
+        e.eventQueueDepth = getEventQueueDepth();
+        e.programCacheHitRate = getProgramCacheHitRate();
+        e.commit();
+        lastSteps = s;
+        lastNanos = now;
+    }
+
+    /** JSON object with every metric, rates over the whole run (or up to {@link #close}). */
+    public void writeSummary(OutputStream out) throws IOException {
+        long elapsed = elapsedNanos();
+        try (JsonGenerator json = new JsonFactory().createGenerator(out).useDefaultPrettyPrinter()) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeNumberField("elapsedMillis", elapsed / 1_000_000);
+            json.writeNumberField("rovers", getRovers());
+            json.writeNumberField("steps", getSteps());
+            json.writeNumberField("stepsPerSecond", Math.round(perSecond(getSteps(), elapsed)));
+            json.writeObjectFieldStart("faults");
+            for (ExecutionResult.Fault f : FAULTS) json.writeNumberField(f.name(), faults(f));
+            json.writeEndObject();
+            json.writeObjectFieldStart("roverLatencyNanos");
+            json.writeNumberField("count", roverLatency.count());
+            json.writeNumberField("mean", Math.round(roverLatency.mean()));
+            json.writeNumberField("p50", roverLatency.percentile(50));
+            json.writeNumberField("p90", roverLatency.percentile(90));
+            json.writeNumberField("p99", roverLatency.percentile(99));
+            json.writeNumberField("max", roverLatency.max());
+            json.writeEndObject();
+            json.writeObjectFieldStart("parse");
+            json.writeNumberField("bytes", getParsedBytes());
+            json.writeNumberField("rovers", parsedRovers.sum());
+            json.writeNumberField("millis", parseNanos.sum() / 1_000_000);
+            json.writeNumberField("bytesPerSecond", Math.round(getParsedBytesPerSecond()));
+            json.writeNumberField("roversPerSecond", Math.round(getParsedRoversPerSecond()));
+            json.writeEndObject();
+            json.writeNumberField("occupiedCells", getOccupiedCells());
+            json.writeNumberField("eventQueueDepth", getEventQueueDepth());
+            json.writeObjectFieldStart("programCache");
+            json.writeNumberField("hits", getProgramCacheHits());
+            json.writeNumberField("misses", getProgramCacheMisses());
+            json.writeNumberField("hitRate", getProgramCacheHitRate());
+            json.writeEndObject();
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+    }
+
+    /** Freezes the elapsed time and withdraws the MXBean and the JFR event. */
+    @Override
+    public void close() {
+        if (endNanos < 0) endNanos = System.nanoTime();
+        if (jfrHook != null) {
+            FlightRecorder.removePeriodicEvent(jfrHook);
+            jfrHook = null;
+        }
+        if (registered != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(registered);
+            } catch (JMException ignored) {
+                // already gone
+            }
+            registered = null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Periodic JFR snapshot of a {@link RunMetrics}; only recorded while a flight recording is running. */
+@Name("org.example.RunMetrics")
+@Label("Rover Run Metrics")
+@Category("Rover")
+@Description("Progress of the current mission run")
+@Period("1 s")
+@StackTrace(false)
+class RunMetricsEvent extends Event {
+    @Label("Rovers")
+    long rovers;
+
+    @Label("Steps")
+    long steps;
+
+    @Label("Steps per Second")
+    @Description("Since the previous event")
+    double stepsPerSecond;
+
+    @Label("Out of Bounds Faults")
+    long outOfBoundsFaults;
+
+    @Label("Occupied Faults")
+    long occupiedFaults;
+
+    @Label("Rover Latency p50")
+    @Timespan
+    long roverLatencyP50;
+
+    @Label("Rover Latency p99")
+    @Timespan
+    long roverLatencyP99;
+
+    @Label("Parsed Bytes")
+    @DataAmount
+    long parsedBytes;
+
+    @Label("Occupied Cells")
+    long occupiedCells;
+
+    @Label("Event Queue Depth")
+    @Description("Event buffers waiting for the writer thread")
+    long eventQueueDepth;
+
+    @Label("Program Cache Hit Rate")
+    @Description("Share of commands strings found compiled, with the compiled engine")
+    @Percentage
+    double programCacheHitRate;
+}
@@ -0,0 +1,34 @@
+package org.example.metrics;
+
+/** JMX view of a {@link RunMetrics}, registered as {@value RunMetrics#OBJECT_NAME} while a run is in progress. */
+public interface RunMetricsMXBean {
+    long getRovers();
+
+    long getSteps();
+
+    double getStepsPerSecond();
+
+    long getOutOfBoundsFaults();
+
+    long getOccupiedFaults();
+
+    long getRoverLatencyP50Nanos();
+
+    long getRoverLatencyP99Nanos();
+
+    long getParsedBytes();
+
+    double getParsedBytesPerSecond();
+
+    double getParsedRoversPerSecond();
+
+    long getOccupiedCells();
+
+    long getEventQueueDepth();
+
+    long getProgramCacheHits();
+
+    long getProgramCacheMisses();
+
+    double getProgramCacheHitRate();
+}
@@ -0,0 +1,120 @@
+import org.example.Batch.BatchRunner;
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForBatchRunner {
+
+    /** Writes {@code count} random missions of very different sizes, returns the directory. */
+    private static Path missions(int count) throws IOException {
+        Path dir = Files.createTempDirectory("rover-batch-");
+        dir.toFile().deleteOnExit();
+        Random rnd = new Random(16);
+        for (int m = 0; m < count; m++) {
+            int maxX = rnd.nextInt(10), maxY = rnd.nextInt(10);
+            StringBuilder text = new StringBuilder(maxX + " " + maxY + "\n");
+            int rovers = m % 5 == 0 ? 2000 : 1 + rnd.nextInt(20);
+            for (var p : TestForEngines.randomMission(rnd, maxX, maxY, rovers)) {
+                if (p.start().x() < 0 || p.start().y() < 0 || p.start().x() > maxX || p.start().y() > maxY) continue;
+                text.append(p.start().x()).append(' ').append(p.start().y()).append(' ').append(p.dir())
+                        .append('\n').append(p.commands().isEmpty() ? "L" : p.commands()).append('\n');
+            }
+            Path file = Files.writeString(dir.resolve(String.format("m%03d.txt", m)), text);
+            file.toFile().deleteOnExit();
+        }
+        return dir;
+    }
+
+    private static String runAlone(Path mission) throws IOException {
+        StringBuilder out = new StringBuilder();
+        try (var reader = new InputParser().map(mission)) {
+            MissionRunner.run(reader, "step", Event.NOOP, res -> out.append(res.position().x()).append(' ')
+                    .append(res.position().y()).append(' ').append(res.direction().name()).append('\n'));
+        }
+        return out.toString();
+    }
+
+    @Test
+    void given_missionsDirectory_when_mergedWithSmallBudget_then_sameOutputInMissionOrder() throws Exception {
+        Path dir = missions(40);
+        List<Path> files = BatchRunner.missions(dir.toString());
+        assertEquals(40, files.size());
+
+        StringBuilder expected = new StringBuilder();
+        for (Path f : files) expected.append("# ").append(f).append('\n').append(runAlone(f));
+
+        // a budget smaller than the big missions: they run at most two at a time, submission waits on them
+        ByteArrayOutputStream merged = new ByteArrayOutputStream();
+        var results = new BatchRunner("segment", ExecutionPolicy.FAIL_FAST_PER_ROVER, Event.NOOP, 4, 8 << 10)
+                .run(files, merged);
+        assertEquals(expected.toString(), merged.toString());
+        assertTrue(results.stream().allMatch(r -> r.status() == 0));
+    }
+
+    @Test
+    void given_invalidMission_when_outDirectory_then_otherMissionsWrittenAndFailureReported() throws Exception {
+        Path dir = missions(6);
+        Files.writeString(dir.resolve("m002.txt"), "5 5\n1 2 X\nM\n");
+        Path out = Files.createTempDirectory("rover-batch-out-");
+        out.toFile().deleteOnExit();
+
+        var results = new BatchRunner("step", ExecutionPolicy.FAIL_FAST_PER_ROVER, Event.NOOP, 2, 1 << 20)
+                .run(BatchRunner.missions(dir.toString()), out);
+        for (var res : results) {
+            Path file = out.resolve(res.mission().getFileName() + ".out");
+            file.toFile().deleteOnExit();
+            if (res.mission().endsWith("m002.txt")) {
+                assertEquals(2, res.status());
+                assertTrue(res.error().startsWith("Input error: "), res.error());
+            } else {
+                assertEquals(0, res.status(), res.error());
+                assertEquals(runAlone(res.mission()), Files.readString(file));
+            }
+        }
+    }
+
+    @Test
+    void given_glob_when_missions_then_matchingFilesSorted() throws IOException {
+        Path dir = missions(3);
+        Path sub = Files.createDirectories(dir.resolve("sub"));
+        sub.toFile().deleteOnExit();
+        Path nested = Files.writeString(sub.resolve("n.txt"), "1 1\n0 0 N\nM\n");
+        nested.toFile().deleteOnExit();
+        Path other = Files.writeString(dir.resolve("notes.md"), "-");
+        other.toFile().deleteOnExit();
+
+        assertEquals(List.of(dir.resolve("m000.txt"), dir.resolve("m001.txt"), dir.resolve("m002.txt")),
+                BatchRunner.missions(dir + "/*.txt"));
+        assertEquals(List.of(dir.resolve("m000.txt"), dir.resolve("m001.txt"), dir.resolve("m002.txt"), nested),
+                BatchRunner.missions(dir + "/**.txt"));
+        assertEquals(4, BatchRunner.missions(dir.toString()).size()); // regular files only, not sub/
+    }
+
+    @Test
+    void given_globMatchingSameNameInTwoDirectories_when_outDirectory_then_outputsKeepTheirSubdirectories() throws Exception {
+        Path dir = Files.createTempDirectory("rover-batch-");
+        for (String sub : List.of("a", "b")) Files.createDirectories(dir.resolve(sub));
+        Files.writeString(dir.resolve("a/m.txt"), "5 5\n1 2 N\nM\n");
+        Files.writeString(dir.resolve("b/m.txt"), "5 5\n3 3 E\nMM\n");
+        Path out = Files.createTempDirectory("rover-batch-out-");
+
+        List<Path> files = BatchRunner.missions(dir + "/**.txt");
+        assertEquals(List.of(out.resolve("a/m.txt.out"), out.resolve("b/m.txt.out")), BatchRunner.outputs(files, out));
+        var results = new BatchRunner("step", ExecutionPolicy.FAIL_FAST_PER_ROVER, Event.NOOP, 2, 1 << 20).run(files, out);
+        assertTrue(results.stream().allMatch(r -> r.status() == 0));
+        assertEquals("1 3 N\n", Files.readString(out.resolve("a/m.txt.out")));
+        assertEquals("5 3 E\n", Files.readString(out.resolve("b/m.txt.out")));
+        assertThrows(IOException.class, () -> BatchRunner.outputs(List.of(files.get(0), files.get(0)), out));
+    }
+}
@@ -0,0 +1,87 @@
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Output.ResultSink;
+import org.example.Parser.InputParser;
+import org.example.Session.MissionCheckpoint;
+import org.example.log.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForCheckpoint {
+
+    private static String mission(Random rnd, int rovers) {
+        StringBuilder text = new StringBuilder("40 30\n");
+        for (var plan : TestForEngines.randomMission(rnd, 40, 30, rovers)) {
+            text.append(plan.start().x()).append(' ').append(plan.start().y()).append(' ').append(plan.dir())
+                    .append(rnd.nextInt(20) == 0 ? "\n\n" : "\n").append(plan.commands().isEmpty() ? "L" : plan.commands()).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Runs the mission into {@code output} like the command line does, from the checkpoint if there is one;
+     * the run dies after {@code crashAfter} rovers.
+     */
+    private static void run(Path input, Path output, Path checkpoint, String engine, ResultSink.Format format,
+                            int crashAfter) throws IOException {
+        MissionCheckpoint.State from = MissionCheckpoint.load(checkpoint);
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (from != null) assertTrue(MissionCheckpoint.rewind(out, from.resultBytes()));
+            else out.position(out.size());
+            try (InputParser.MissionReader mission = from == null ? new InputParser().map(input, 1)
+                         : new InputParser().map(input, 1, from.inputOffset(), from.rovers());
+                 ResultSink results = ResultSink.open(format, out, false, from != null && from.resultBytes() > 0)) {
+                if (from != null) MissionCheckpoint.restore(checkpoint, from, mission.plateau());
+                try (MissionCheckpoint cp = new MissionCheckpoint(checkpoint, 7, mission, results, format,
+                        Files.size(input), from)) {
+                    MissionRunner.execute(mission, mission.plateau(), cp.roverCount() + 1, engine,
+                            ExecutionPolicy.FAIL_FAST_PER_ROVER, Event.NOOP, null, res -> {
+                                if (res.roverId() > crashAfter) throw new IllegalStateException("crash");
+                                results.accept(res);
+                                cp.accept(res);
+                            });
+                    results.flush();
+                    cp.finish();
+                }
+            } catch (IllegalStateException e) {
+                assertEquals("crash", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void given_runKilledTwice_when_resumedFromCheckpoints_then_sameOutputAsUninterruptedRun() throws IOException {
+        Random rnd = new Random(24);
+        for (String engine : List.of("step", "screened", "compiled")) {
+            for (ResultSink.Format format : ResultSink.Format.values()) {
+                Path input = TestUtils.toFile(mission(rnd, 400));
+                Path expected = TestUtils.toFile(""), output = TestUtils.toFile("");
+                Path checkpoint = Files.createTempFile("rover-", ".ckpt");
+                Files.delete(checkpoint);
+                run(input, expected, checkpoint, "step", format, Integer.MAX_VALUE);
+                assertFalse(Files.exists(checkpoint));
+
+                // checkpoints falling due while one is being written are skipped, the first one of a run never is
+                run(input, output, checkpoint, engine, format, 45);
+                int first = MissionCheckpoint.load(checkpoint).rovers();
+                assertTrue(first >= 7 && first <= 42 && first % 7 == 0, "first checkpoint: " + first);
+                run(input, output, checkpoint, engine, format, 213);
+                int second = MissionCheckpoint.load(checkpoint).rovers();
+                assertTrue(second > first && second <= 210 && second % 7 == 0, "second checkpoint: " + second);
+                run(input, output, checkpoint, engine, format, Integer.MAX_VALUE);
+
+                assertFalse(Files.exists(checkpoint), "checkpoint removed once the mission is done");
+                assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(output), engine + " " + format.name);
+            }
+        }
+    }
+}
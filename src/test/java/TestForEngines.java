@@ -0,0 +1,149 @@
+import org.example.Engine.CompiledEngine;
+import org.example.Engine.ParallelRunner;
+import org.example.Engine.ProgramCache;
+import org.example.Engine.RoverEngine;
+import org.example.Engine.ScreenedEngine;
+import org.example.Engine.SegmentEngine;
+import org.example.Engine.StepEngine;
+import org.example.Model.*;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForEngines {
+
+    private static long allocatedBytes(Runnable r) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(tid);
+        r.run();
+        return threads.getThreadAllocatedBytes(tid) - before;
+    }
+
+    @Test
+    void given_loggingDisabled_when_stepEngineRuns_then_noAllocationPerStep() {
+        String loop = "MRMRMRMR".repeat(250_000); // 2M steps around a unit square, ends on the start cell
+        Runnable run = () -> {
+            var res = StepEngine.execute(1, new Position(0, 0), Direction.N, loop, new Plateau(3, 3), Event.NOOP);
+            assertEquals(new Position(0, 0), res.position());
+        };
+        run.run(); // warm up class loading
+        long small = allocatedBytes(() -> StepEngine.execute(1, new Position(0, 0), Direction.N, "MRMRMRMR", new Plateau(3, 3), Event.NOOP));
+        long large = allocatedBytes(run);
+        // identical per-rover setup cost, nothing that scales with the 2M steps
+        assertTrue(large - small < 1024, "allocated " + (large - small) + " bytes more for 2M steps");
+    }
+
+    record Plan(Position start, Direction dir, String commands) {}
+
+    /** Random missions on small plateaus so that rovers often collide and fall off. */
+    static List<Plan> randomMission(Random rnd, int maxX, int maxY, int rovers) {
+        List<Plan> plans = new ArrayList<>();
+        for (int r = 0; r < rovers; r++) {
+            StringBuilder cmds = new StringBuilder();
+            int len = rnd.nextInt(60);
+            for (int i = 0; i < len; i++) cmds.append("LRMMMMlrmm".charAt(rnd.nextInt(10)));
+            plans.add(new Plan(new Position(rnd.nextInt(maxX + 3) - 1, rnd.nextInt(maxY + 3) - 1),
+                    Direction.values()[rnd.nextInt(4)], cmds.toString()));
+        }
+        return plans;
+    }
+
+    static List<ExecutionResult> run(RoverEngine engine, Plateau plateau, List<Plan> plans) {
+        List<ExecutionResult> results = new ArrayList<>();
+        int id = 0;
+        for (Plan p : plans) results.add(engine.execute(++id, p.start(), p.dir(), p.commands(), plateau, Event.NOOP));
+        return results;
+    }
+
+    static void assertSameAsStepEngine(RoverEngine engine, long seed) {
+        Random rnd = new Random(seed);
+        for (int round = 0; round < 300; round++) {
+            int maxX = rnd.nextInt(8), maxY = rnd.nextInt(8);
+            var plans = randomMission(rnd, maxX, maxY, 1 + rnd.nextInt(20));
+            assertEquals(run(StepEngine::execute, new Plateau(maxX, maxY), plans),
+                    run(engine, new Plateau(maxX, maxY), plans), "round " + round);
+        }
+    }
+
+    @Test
+    void given_randomMissions_when_segmentEngine_then_sameResultsAsStepEngine() {
+        assertSameAsStepEngine(SegmentEngine::execute, 5);
+    }
+
+    @Test
+    void given_randomMissions_when_screenedEngine_then_sameResultsAsStepEngine() {
+        assertSameAsStepEngine(ScreenedEngine::execute, 19);
+    }
+
+    @Test
+    void given_sparseMission_when_screenedEngine_then_sameResultsAsStepEngine() {
+        // few, short-lived rovers on a large plateau: most paths pass the screen
+        Random rnd = new Random(20);
+        List<Plan> plans = new ArrayList<>();
+        for (int r = 0; r < 2000; r++) {
+            StringBuilder cmds = new StringBuilder();
+            for (int i = 0, len = rnd.nextInt(200); i < len; i++) cmds.append("LRMMM".charAt(rnd.nextInt(5)));
+            plans.add(new Plan(new Position(rnd.nextInt(5000), rnd.nextInt(5000)), Direction.values()[rnd.nextInt(4)], cmds.toString()));
+        }
+        assertEquals(run(StepEngine::execute, new Plateau(4999, 4999), plans),
+                run(ScreenedEngine::execute, new Plateau(4999, 4999), plans));
+    }
+
+    @Test
+    void given_randomMissions_when_parallelRunner_then_sameResultsAsStepEngine() {
+        Random rnd = new Random(6);
+        for (int round = 0; round < 100; round++) {
+            int maxX = rnd.nextInt(12), maxY = rnd.nextInt(12);
+            var plans = randomMission(rnd, maxX, maxY, 1 + rnd.nextInt(200));
+            var roverPlans = plans.stream()
+                    .map(p -> new InputParser.RoverPlan(p.start(), p.dir(), p.commands())).iterator();
+            List<ExecutionResult> parallel = new ArrayList<>();
+            ParallelRunner.run(roverPlans, new Plateau(maxX, maxY), Event.NOOP, parallel::add);
+            assertEquals(run(StepEngine::execute, new Plateau(maxX, maxY), plans), parallel, "round " + round);
+        }
+    }
+
+    @Test
+    void given_roverWithVeryLongCommands_when_parallelRunner_then_runSequentiallyWithSameResults() {
+        Random rnd = new Random(6);
+        List<Plan> plans = new ArrayList<>(randomMission(rnd, 30, 30, 100));
+        // past the length the runner records a path for: loops in a 2x2 square, then heads east
+        plans.add(50, new Plan(new Position(3, 3), Direction.N, "MRMRMRMR".repeat(150_000) + "RMMMMMMMMMMMMMMMMMMMMMMMMMMMMMMMMMMMMM"));
+        var roverPlans = plans.stream()
+                .map(p -> new InputParser.RoverPlan(p.start(), p.dir(), p.commands())).iterator();
+        List<ExecutionResult> parallel = new ArrayList<>();
+        ParallelRunner.run(roverPlans, new Plateau(30, 30), Event.NOOP, parallel::add);
+        assertEquals(run(StepEngine::execute, new Plateau(30, 30), plans), parallel);
+    }
+
+    @Test
+    void given_fleetSharingPatterns_when_compiledEngine_then_sameResultsAsStepEngineAndCacheHits() {
+        Random rnd = new Random(23);
+        List<String> patterns = new ArrayList<>();
+        for (int p = 0; p < 40; p++) {
+            StringBuilder cmds = new StringBuilder();
+            for (int i = 0, len = rnd.nextInt(300); i < len; i++) cmds.append("LRMMMlrm".charAt(rnd.nextInt(8)));
+            patterns.add(cmds.toString());
+        }
+        List<Plan> plans = new ArrayList<>();
+        for (int r = 0; r < 3000; r++) {
+            plans.add(new Plan(new Position(rnd.nextInt(102) - 1, rnd.nextInt(102) - 1), Direction.values()[rnd.nextInt(4)],
+                    patterns.get(rnd.nextInt(patterns.size()))));
+        }
+        ProgramCache cache = new ProgramCache(30_000); // room for about half the patterns: evictions and misses too
+        assertEquals(run(StepEngine::execute, new Plateau(99, 99), plans),
+                run(new CompiledEngine(cache, false), new Plateau(99, 99), plans));
+        assertEquals(3000, cache.hits() + cache.misses());
+        assertTrue(cache.hits() > 1000 && cache.evictions() > 0, cache.hits() + " hits, " + cache.evictions() + " evictions");
+
+        assertSameAsStepEngine(new CompiledEngine(new ProgramCache(), false), 24);
+    }
+}
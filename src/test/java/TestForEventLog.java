@@ -0,0 +1,181 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.Model.Direction;
+import org.example.Model.ExecutionResult;
+import org.example.Model.Position;
+import org.example.Engine.StepEngine;
+import org.example.Model.Plateau;
+import org.example.log.AsyncEventLogger;
+import org.example.log.BinaryJournal;
+import org.example.log.JournalExporter;
+import org.example.log.Event;
+import org.example.log.SampledEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForEventLog {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    void given_asyncLogger_when_closed_then_everyEventWrittenInOrder() throws IOException {
+        Path file = Files.createTempFile("events-", ".ndjson");
+        file.toFile().deleteOnExit();
+        try (var logger = AsyncEventLogger.open(file)) {
+            for (int step = 1; step <= 50_000; step++) {
+                logger.info("MOVE_OK", "moved", "roverId", 7, "step", step, "pos", new Position(step, -step), "dir", Direction.W);
+            }
+            logger.warn("FAULT", "cell \"occupied\"", "roverId", 7, "fault", ExecutionResult.Fault.OCCUPIED, "note", "é\n");
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(50_001, lines.size());
+
+        JsonNode first = JSON.readTree(lines.get(0));
+        assertEquals("INFO", first.get("level").asText());
+        assertEquals("events", first.get("loggerName").asText());
+        assertEquals(JSON.readTree("{\"type\":\"MOVE_OK\",\"msg\":\"moved\",\"roverId\":7,\"step\":1,\"pos\":{\"x\":1,\"y\":-1},\"dir\":\"W\"}"),
+                first.get("message"));
+        assertEquals(50_000, JSON.readTree(lines.get(49_999)).get("message").get("step").asInt());
+
+        JsonNode fault = JSON.readTree(lines.get(50_000));
+        assertEquals("WARN", fault.get("level").asText());
+        assertEquals("cell \"occupied\"", fault.get("message").get("msg").asText());
+        assertEquals("OCCUPIED", fault.get("message").get("fault").asText());
+        assertEquals("é\n", fault.get("message").get("note").asText());
+    }
+
+    @Test
+    void given_idleAsyncLogger_when_partialBufferPending_then_writerFlushesItWithoutClose() throws Exception {
+        Path file = Files.createTempFile("events-", ".ndjson");
+        file.toFile().deleteOnExit();
+        try (var logger = AsyncEventLogger.open(file)) {
+            logger.moved(3, 1, 2, 5, Direction.E);
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (Files.size(file) == 0 && System.nanoTime() < deadline) Thread.sleep(50);
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(1, lines.size());
+            assertEquals(JSON.readTree("{\"type\":\"MOVE_OK\",\"msg\":\"moved\",\"roverId\":3,\"step\":1,\"pos\":{\"x\":2,\"y\":5},\"dir\":\"E\"}"),
+                    JSON.readTree(lines.get(0)).get("message"));
+        }
+    }
+
+    @Test
+    void given_asyncLoggerOnNonRegularChannels_when_closed_then_noForceFailure() throws IOException {
+        // /dev/null is a FileChannel that cannot be forced, like stderr sent to a pipe
+        try (FileOutputStream devNull = new FileOutputStream("/dev/null")) {
+            var logger = new AsyncEventLogger(devNull.getChannel(), false, true);
+            logger.moved(1, 1, 0, 1, Direction.N);
+            assertDoesNotThrow(logger::close);
+        }
+        var logger = AsyncEventLogger.open(Path.of("/dev/null"));
+        logger.moved(1, 1, 0, 1, Direction.N);
+        assertDoesNotThrow(logger::close);
+
+        Pipe pipe = Pipe.open();
+        try (var source = pipe.source()) {
+            source.configureBlocking(false);
+            var piped = new AsyncEventLogger(pipe.sink(), true, true);
+            piped.moved(1, 1, 0, 1, Direction.N);
+            assertDoesNotThrow(piped::close);
+            ByteBuffer line = ByteBuffer.allocate(4096);
+            assertTrue(source.read(line) > 0);
+        }
+    }
+
+    /** Records "type:roverId:step" for every event that reaches it. */
+    static final class Recorder implements Event {
+        final List<String> seen = new ArrayList<>();
+        @Override public void info(String type, String message, Object... kv) { record(type, kv); }
+        @Override public void warn(String type, String message, Object... kv) { record(type, kv); }
+        private void record(String type, Object... kv) {
+            Object rover = null, step = null;
+            for (int i = 0; i + 1 < kv.length; i += 2) {
+                if (kv[i].equals("roverId")) rover = kv[i + 1];
+                if (kv[i].equals("step")) step = kv[i + 1];
+            }
+            seen.add(type + ":" + rover + ":" + step);
+        }
+    }
+
+    @Test
+    void given_typeFilterAndSampling_when_roversRun_then_onlyKeptEventsReachDelegate() {
+        Recorder recorder = new Recorder();
+        BitSet traced = new BitSet();
+        traced.set(2);
+        Event logger = new SampledEvent(recorder, List.of("FAULT", "ROVER_*", "MOVE_OK"), 2, traced);
+        Plateau plateau = new Plateau(5, 5);
+        StepEngine.execute(1, new Position(0, 0), Direction.N, "MMLRMMM", plateau, logger);
+        StepEngine.execute(2, new Position(0, 0), Direction.N, "LM", plateau, logger);
+
+        assertEquals(List.of(
+                "ROVER_START:1:null", "MOVE_OK:1:2", "MOVE_OK:1:6", "ROVER_COMPLETED:1:null",
+                "ROVER_START:2:null", "TURN:2:1", "MOVE_ATTEMPT:2:2", "FAULT:2:2"), recorder.seen);
+    }
+
+    private static void mission(Event logger) {
+        Plateau plateau = new Plateau(3, 3);
+        logger.info("RUN_START", "begin", "maxX", 3, "maxY", 3);
+        StepEngine.execute(1, new Position(1, 1), Direction.N, "MMMRMLM", plateau, logger);
+        StepEngine.execute(2, new Position(1, 1), Direction.E, "MLM", plateau, logger);
+        StepEngine.execute(3, new Position(2, 1), Direction.S, "M", plateau, logger);
+        logger.info("ROVER_STOPPED", "stopped", "roverId", 1, "pos", new Position(2, 3), "dir", Direction.N);
+        logger.info("RUN_END", "end");
+    }
+
+    @Test
+    void given_binaryJournal_when_exported_then_sameMessagesAsNdjsonLogger() throws IOException {
+        Path ndjson = Files.createTempFile("events-", ".ndjson");
+        Path journal = Files.createTempFile("events-", ".rvj");
+        Path exported = Files.createTempFile("events-", ".ndjson");
+        for (Path p : List.of(ndjson, journal, exported)) p.toFile().deleteOnExit();
+
+        try (var logger = AsyncEventLogger.open(ndjson)) {
+            mission(logger);
+        }
+        try (var logger = BinaryJournal.create(journal)) {
+            mission(logger);
+            assertEquals(0, logger.dropped());
+        }
+        try (var out = FileChannel.open(exported, StandardOpenOption.WRITE)) {
+            JournalExporter.export(journal, out);
+        }
+
+        List<String> expected = Files.readAllLines(ndjson), actual = Files.readAllLines(exported);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(16 + 32L * expected.size(), Files.size(journal));
+        for (int i = 0; i < expected.size(); i++) {
+            JsonNode e = JSON.readTree(expected.get(i)), a = JSON.readTree(actual.get(i));
+            assertEquals(e.get("level"), a.get("level"));
+            assertEquals(e.get("message").toString(), a.get("message").toString()); // same fields, same order
+        }
+    }
+
+    @Test
+    void given_corruptRecord_when_exported_then_ioExceptionWithItsOffset() throws IOException {
+        Path journal = Files.createTempFile("events-", ".rvj");
+        journal.toFile().deleteOnExit();
+        try (var logger = BinaryJournal.create(journal)) {
+            mission(logger);
+        }
+        try (var ch = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[] {(byte) 0x7F}), 16 + 2 * 32); // code of the third record
+        }
+        IOException e = assertThrows(IOException.class,
+                () -> JournalExporter.export(journal, Channels.newChannel(OutputStream.nullOutputStream())));
+        assertEquals("corrupt journal at offset 80: unknown event code 127", e.getMessage());
+    }
+}
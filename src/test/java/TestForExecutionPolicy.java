@@ -0,0 +1,109 @@
+import org.example.Engine.CompiledEngine;
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Engine.ParallelRunner;
+import org.example.Engine.ProgramCache;
+import org.example.Engine.ScreenedEngine;
+import org.example.Engine.SkippingSegmentEngine;
+import org.example.Engine.SkippingStepEngine;
+import org.example.Exception.MissionAbortedException;
+import org.example.Model.*;
+import org.example.Parser.InputParser;
+import org.example.log.BinaryJournal;
+import org.example.log.Event;
+import org.example.log.JournalExporter;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForExecutionPolicy {
+
+    @Test
+    void given_blockedMoves_when_skipStep_then_skipThemAndComplete() {
+        Plateau plateau = new Plateau(2, 2);
+        TestForFailFastPerRover.CaptureLogger logger = new TestForFailFastPerRover.CaptureLogger();
+
+        Rover r1 = new Rover(1, new Position(1, 1), Direction.N);
+        var res1 = r1.execute(ExecutionPolicy.SKIP_STEP, "MMMRM", plateau, logger); // second and third M leave the plateau
+        assertEquals(new ExecutionResult.Completed(1, new Position(2, 2), Direction.E), res1);
+
+        Rover r2 = new Rover(2, new Position(2, 0), Direction.N);
+        var res2 = r2.execute(ExecutionPolicy.SKIP_STEP, "MMMLM", plateau, logger); // second and third M run into rover 1
+        assertEquals(new ExecutionResult.Completed(2, new Position(1, 1), Direction.W), res2);
+
+        assertEquals(4, logger.entries.stream().filter(e -> e.type().equals("SKIPPED")).count());
+        assertTrue(logger.entries.stream().noneMatch(e -> e.level().equals("WARNING")));
+    }
+
+    @Test
+    void given_randomMissions_when_skippingEngines_then_sameResultsAsSkippingStepEngine() {
+        Random rnd = new Random(15);
+        for (int round = 0; round < 200; round++) {
+            int maxX = rnd.nextInt(10), maxY = rnd.nextInt(10);
+            var plans = TestForEngines.randomMission(rnd, maxX, maxY, 1 + rnd.nextInt(100));
+            var expected = TestForEngines.run(SkippingStepEngine::execute, new Plateau(maxX, maxY), plans);
+
+            assertEquals(expected, TestForEngines.run(SkippingSegmentEngine::execute, new Plateau(maxX, maxY), plans),
+                    "segment, round " + round);
+            assertEquals(expected, TestForEngines.run(ScreenedEngine::executeSkipping, new Plateau(maxX, maxY), plans),
+                    "screened, round " + round);
+            assertEquals(expected, TestForEngines.run(new CompiledEngine(new ProgramCache(), true), new Plateau(maxX, maxY), plans),
+                    "compiled, round " + round);
+
+            var roverPlans = plans.stream()
+                    .map(p -> new InputParser.RoverPlan(p.start(), p.dir(), p.commands())).iterator();
+            List<ExecutionResult> parallel = new ArrayList<>();
+            ParallelRunner.run(roverPlans, new Plateau(maxX, maxY), 1, true, Event.NOOP, parallel::add);
+            assertEquals(expected, parallel, "parallel, round " + round);
+        }
+    }
+
+    @Test
+    void given_stoppedRover_when_failFast_then_abortAfterReportingIt() {
+        String input = "5 5\n1 2 N\nLMLMLMLMM\n1 3 N\nM\n3 3 E\nMMRMMRMRRM\n";
+        for (String engine : MissionRunner.ENGINES) {
+            TestForFailFastPerRover.CaptureLogger logger = new TestForFailFastPerRover.CaptureLogger();
+            List<ExecutionResult> results = new ArrayList<>();
+            var e = assertThrows(MissionAbortedException.class, () -> {
+                try (var mission = new InputParser().open(new BufferedReader(new StringReader(input)))) {
+                    MissionRunner.run(mission, engine, ExecutionPolicy.FAIL_FAST, logger, null, results::add);
+                }
+            }, engine);
+            assertEquals(2, results.size(), engine); // the third rover never runs
+            assertEquals(results.get(1), e.stopped(), engine);
+            assertEquals(ExecutionResult.Fault.OCCUPIED, e.stopped().fault(), engine);
+            assertTrue(logger.entries.contains(new TestForFailFastPerRover.CaptureLogger.Entry("ERROR", "ABORT_MISSION")), engine);
+            assertEquals(new TestForFailFastPerRover.CaptureLogger.Entry("INFO", "RUN_END"), logger.entries.get(logger.entries.size() - 1), engine);
+        }
+    }
+
+    @Test
+    void given_skippedAndAbortEvents_when_journaled_then_exportedWithTheirLevels() throws IOException {
+        Path journal = Files.createTempFile("rover-", ".journal");
+        journal.toFile().deleteOnExit();
+        try (var mission = new InputParser().open(new BufferedReader(new StringReader("1 1\n0 0 S\nMRM\n")));
+             BinaryJournal logger = BinaryJournal.create(journal)) {
+            MissionRunner.run(mission, "step", ExecutionPolicy.SKIP_STEP, logger, null, res -> { });
+            logger.error("ABORT_MISSION","abort","roverId",1,"fault",ExecutionResult.Fault.OCCUPIED,"step",2);
+            assertEquals(0, logger.dropped());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JournalExporter.export(journal, Channels.newChannel(out));
+        String ndjson = out.toString();
+        assertTrue(ndjson.contains("\"level\":\"INFO\",\"loggerName\":\"events\",\"message\":{\"type\":\"SKIPPED\",\"msg\":\"out of bounds\","
+                + "\"roverId\":1,\"fault\":\"OUT_OF_BOUNDS\",\"step\":1,\"attempted\":{\"x\":0,\"y\":-1}}"), ndjson);
+        assertTrue(ndjson.contains("\"level\":\"ERROR\",\"loggerName\":\"events\",\"message\":{\"type\":\"ABORT_MISSION\",\"msg\":\"abort\","
+                + "\"roverId\":1,\"fault\":\"OCCUPIED\",\"step\":2}"), ndjson);
+    }
+}
@@ -5,10 +5,15 @@ import org.example.log.Event;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,6 +25,7 @@ public class TestForFailFastPerRover {
         final List<Entry> entries = new ArrayList<>();
         @Override public void info(String type, String message, Object... kv) { entries.add(new Entry("INFO", type)); }
         @Override public void warn(String type, String message, Object... kv) { entries.add(new Entry("WARNING", type)); }
+        @Override public void error(String type, String message, Object... kv) { entries.add(new Entry("ERROR", type)); }
         @Override public void close() {}
     }
 
@@ -227,4 +233,132 @@ public class TestForFailFastPerRover {
         var path = TestUtils.toFile(content);
         assertThrows(InputFormatException.class, () -> parser.parser(path));
     }
+
+    @Test
+    void given_streamingReader_when_iterate_then_samePlansAsFullParse() throws IOException {
+        InputParser parser = new InputParser();
+        Path path = Path.of("src/test/resources/sample.txt");
+        var mission = parser.parser(path);
+        try (var reader = parser.open(path)) {
+            assertEquals(mission.plateau().maxX(), reader.plateau().maxX());
+            List<InputParser.RoverPlan> streamed = new ArrayList<>();
+            reader.forEachRemaining(streamed::add);
+            assertEquals(mission.roverPlans(), streamed);
+            assertEquals(2, reader.roverCount());
+        }
+    }
+
+    @Test
+    void given_streamingReader_when_laterPairBroken_then_earlierPlansDeliveredFirst() throws IOException {
+        InputParser parser = new InputParser();
+        String content = """
+                5 5
+                1 2 N
+                LM
+                3 3 E
+                """;
+        var path = TestUtils.toFile(content);
+        try (var reader = parser.open(path)) {
+            assertEquals(new Position(1, 2), reader.next().position());
+            var e = assertThrows(InputFormatException.class, reader::next);
+            assertEquals("Missing commands line for rover #2", e.getMessage());
+        }
+    }
+
+    @Test
+    void given_mappedReader_when_crlfAndBlankLines_then_samePlansAsLineReader() throws IOException {
+        InputParser parser = new InputParser();
+        var path = TestUtils.toFile("5 5\r\n\r\n  1 2 n \r\nlmLMlmLMm\r\n\t\r\n3 3 E\rMMRMMRMRRM");
+        var expected = parser.parser(path);
+        try (var reader = parser.map(path)) {
+            assertEquals(5, reader.plateau().maxY());
+            for (var plan : expected.roverPlans()) {
+                var mapped = reader.next();
+                assertEquals(plan.position(), mapped.position());
+                assertEquals(plan.direction(), mapped.direction());
+                assertEquals(plan.commands().toString(), mapped.commands().toString());
+            }
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void given_mappedReader_when_invalidInput_then_sameMessagesAsLineReader() {
+        InputParser parser = new InputParser();
+        for (String content : List.of("5 5\n1 2 N\nMLé\n", "5 5\n1 2\nMM\n", "5 5\na b N\nM\n", "5 5\n1 2 N\n", "\n \n")) {
+            var path = TestUtils.toFile(content);
+            var expected = assertThrows(InputFormatException.class, () -> parser.parser(path));
+            var actual = assertThrows(InputFormatException.class, () -> {
+                try (var reader = parser.map(path)) {
+                    reader.forEachRemaining(plan -> {});
+                }
+            });
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+
+    private static Path toFile(String before, byte[] invalid, String after) throws IOException {
+        Path path = Files.createTempFile("rover-", ".txt");
+        path.toFile().deleteOnExit();
+        try (var out = Files.newOutputStream(path)) {
+            out.write(before.getBytes(StandardCharsets.UTF_8));
+            out.write(invalid);
+            out.write(after.getBytes(StandardCharsets.UTF_8));
+        }
+        return path;
+    }
+
+    @Test
+    void given_mappedReader_when_malformedUtf8_then_rejectedLikeLineReader() throws IOException {
+        InputParser parser = new InputParser();
+        List<Path> missions = List.of(
+                toFile("5 5\n1 2 N\nMLX", new byte[]{(byte) 0xFF}, "\n"), // after an unknown command
+                toFile("5 5\n1 2 N\nML", new byte[]{(byte) 0x80}, "\n"),
+                toFile("5 5\n1 2 N\nM", new byte[]{(byte) 0xC3}, "\n"),    // truncated sequence
+                toFile("5 5\n1 2 N", new byte[]{(byte) 0xFF}, "\nM\n"),     // after the heading
+                toFile("5 ", new byte[]{(byte) 0xFF}, "\n1 2 N\nM\n"));
+        for (Path path : missions) {
+            for (boolean mapped : new boolean[]{false, true}) {
+                var e = assertThrows(Exception.class, () -> {
+                    try (var reader = mapped ? parser.map(path) : parser.open(path)) {
+                        reader.forEachRemaining(plan -> {});
+                    }
+                });
+                assertInstanceOf(MalformedInputException.class, e instanceof UncheckedIOException u ? u.getCause() : e,
+                        (mapped ? "mapped reader, " : "line reader, ") + missions.indexOf(path));
+            }
+        }
+    }
+
+    @Test
+    void given_mappedReader_when_randomPositionAndCommandLines_then_sameAsLineReader() throws IOException {
+        InputParser parser = new InputParser();
+        String[] positions = {"1 2 N", "-3\t+4 s", "0  0\u000BWest", "2147483647 -2147483648 e", "2147483648 1 N",
+                "1 2 N x", "1 2", "1 2 X", "+ 1 N", "1\u0001 2 N", "\u0661 2 N", "007 -0 w", "1 2 \u00e9"};
+        Random rnd = new Random(21);
+        for (int round = 0; round < 300; round++) {
+            StringBuilder content = new StringBuilder("9 9\n");
+            for (int r = 0, rovers = 1 + rnd.nextInt(4); r < rovers; r++) {
+                content.append(positions[rnd.nextInt(positions.length)]).append('\n');
+                int len = rnd.nextInt(rnd.nextBoolean() ? 40 : 10_000); // runs past a vector and a chunk
+                for (int i = 0; i < len; i++) content.append("LRMlrm".charAt(rnd.nextInt(6)));
+                if (rnd.nextInt(4) == 0) content.insert(content.length() - rnd.nextInt(len + 1), "LRMXé \u0000".charAt(rnd.nextInt(7)));
+                content.append(rnd.nextBoolean() ? " \r\n" : "\n");
+            }
+            var path = TestUtils.toFile(content.toString());
+            List<String> expected = new ArrayList<>(), actual = new ArrayList<>();
+            try {
+                for (var plan : parser.parser(path).roverPlans()) expected.add(plan.position() + " " + plan.direction() + " " + plan.commands());
+            } catch (InputFormatException e) {
+                expected.add(e.getMessage());
+            }
+            try (var reader = parser.map(path)) {
+                reader.forEachRemaining(plan -> actual.add(plan.position() + " " + plan.direction() + " " + plan.commands()));
+            } catch (InputFormatException e) {
+                actual.clear();
+                actual.add(e.getMessage());
+            }
+            assertEquals(expected, actual, "round " + round);
+        }
+    }
 }
@@ -0,0 +1,62 @@
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Engine.StepEngine;
+import org.example.Model.*;
+import org.example.Output.FleetStore;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForFleetStore {
+
+    @Test
+    void given_fleetOverSeveralPages_when_queried_then_sameAnswersAsResultObjects() {
+        Random rnd = new Random(25);
+        var mission = TestForEngines.randomMission(rnd, 300, 200, 150_000);
+        List<ExecutionResult> results = TestForEngines.run(StepEngine::execute, new Plateau(300, 200), mission);
+        FleetStore store = new FleetStore();
+        results.forEach(store);
+
+        assertEquals(results.size(), store.size());
+        for (ExecutionResult.Fault fault : ExecutionResult.Fault.values()) {
+            assertEquals(results.stream().filter(r -> r instanceof ExecutionResult.Stopped s && s.fault() == fault).count(),
+                    store.count(fault), fault.name());
+        }
+        assertEquals(results.stream().filter(r -> r instanceof ExecutionResult.Completed).count(), store.completedCount());
+        for (ExecutionResult res : results) assertEquals(res, store.get(res.roverId()));
+        assertNull(store.get(0));
+        assertNull(store.get(results.size() + 1));
+
+        List<Integer> inside = new ArrayList<>();
+        long found = store.forEachIn(40, 10, 120, 90, inside::add);
+        assertEquals(results.stream().filter(r -> r.position().x() >= 40 && r.position().x() <= 120
+                && r.position().y() >= 10 && r.position().y() <= 90).map(ExecutionResult::roverId).toList(), inside);
+        assertEquals(found, inside.size());
+        assertEquals(found, store.countIn(40, 10, 120, 90));
+        assertEquals(results.size() + " rovers, " + store.completedCount() + " completed, "
+                + store.count(ExecutionResult.Fault.OUT_OF_BOUNDS) + " stopped OUT_OF_BOUNDS, "
+                + store.count(ExecutionResult.Fault.OCCUPIED) + " stopped OCCUPIED", store.summary());
+    }
+
+    @Test
+    void given_skipStepRunWithGapsInIds_when_storedAsSink_then_lookupsByIdMatch() {
+        Random rnd = new Random(26);
+        var plans = TestForEngines.randomMission(rnd, 20, 20, 2000).stream()
+                .map(p -> new InputParser.RoverPlan(p.start(), p.dir(), p.commands())).toList();
+        List<ExecutionResult> results = new ArrayList<>();
+        MissionRunner.execute(plans.iterator(), new Plateau(20, 20), 501, "step", ExecutionPolicy.SKIP_STEP,
+                Event.NOOP, null, results::add);
+
+        FleetStore store = new FleetStore();
+        for (ExecutionResult res : results) if (res.roverId() % 3 != 0) store.accept(res);
+        for (ExecutionResult res : results)
+            assertEquals(res.roverId() % 3 != 0 ? res : null, store.get(res.roverId()), "rover " + res.roverId());
+        assertThrows(IllegalArgumentException.class, () -> store.accept(results.get(0)));
+    }
+}
@@ -0,0 +1,156 @@
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.LockstepRunner;
+import org.example.Engine.MissionRunner;
+import org.example.Model.*;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForLockstep {
+
+    private static List<ExecutionResult> lockstep(List<TestForEngines.Plan> plans, Plateau plateau, boolean skip) {
+        List<ExecutionResult> results = new ArrayList<>();
+        var roverPlans = plans.stream().map(p -> new InputParser.RoverPlan(p.start(), p.dir(), p.commands())).iterator();
+        LockstepRunner.run(roverPlans, plateau, 1, skip, Event.NOOP, results::add);
+        return results;
+    }
+
+    private static TestForEngines.Plan plan(int x, int y, Direction d, String commands) {
+        return new TestForEngines.Plan(new Position(x, y), d, commands);
+    }
+
+    /** The rules of a tick, one rover at a time with plain collections. */
+    private static List<ExecutionResult> reference(List<TestForEngines.Plan> plans, int maxX, int maxY, boolean skip) {
+        int n = plans.size();
+        int[] x = new int[n], y = new int[n], h = new int[n];
+        ExecutionResult[] results = new ExecutionResult[n];
+        Set<Position> occupied = new HashSet<>();
+        for (int r = 0; r < n; r++) {
+            var p = plans.get(r);
+            x[r] = p.start().x();
+            y[r] = p.start().y();
+            h[r] = p.dir().ordinal();
+            if (!occupied.add(p.start()))
+                results[r] = new ExecutionResult.Stopped(r + 1, p.start(), p.dir(), ExecutionResult.Fault.OCCUPIED, 0, '-', p.start());
+        }
+        int[] dx = {0, 1, 0, -1}, dy = {1, 0, -1, 0};
+        for (int t = 0; ; t++) {
+            Map<Position, Integer> claims = new HashMap<>();
+            boolean any = false;
+            for (int r = 0; r < n; r++) {
+                if (results[r] != null || t >= plans.get(r).commands().length()) continue;
+                any = true;
+                char c = Character.toUpperCase(plans.get(r).commands().charAt(t));
+                if (c == 'L') h[r] = (h[r] + 3) % 4;
+                else if (c == 'R') h[r] = (h[r] + 1) % 4;
+                else {
+                    Position to = new Position(x[r] + dx[h[r]], y[r] + dy[h[r]]);
+                    boolean out = to.x() < 0 || to.y() < 0 || to.x() > maxX || to.y() > maxY;
+                    if (out || occupied.contains(to)) {
+                        if (!skip) results[r] = new ExecutionResult.Stopped(r + 1, new Position(x[r], y[r]), Direction.values()[h[r]],
+                                out ? ExecutionResult.Fault.OUT_OF_BOUNDS : ExecutionResult.Fault.OCCUPIED, t + 1, 'M', to);
+                    } else {
+                        claims.putIfAbsent(to, r);
+                    }
+                }
+            }
+            if (!any) break;
+            for (int r = 0; r < n; r++) {
+                if (results[r] != null || t >= plans.get(r).commands().length() || Character.toUpperCase(plans.get(r).commands().charAt(t)) != 'M') continue;
+                Position to = new Position(x[r] + dx[h[r]], y[r] + dy[h[r]]);
+                Integer winner = claims.get(to);
+                if (winner == null) continue; // blocked above, or skipped
+                if (winner == r) {
+                    occupied.remove(new Position(x[r], y[r]));
+                    x[r] = to.x();
+                    y[r] = to.y();
+                } else if (!skip) {
+                    results[r] = new ExecutionResult.Stopped(r + 1, new Position(x[r], y[r]), Direction.values()[h[r]],
+                            ExecutionResult.Fault.OCCUPIED, t + 1, 'M', to);
+                }
+            }
+            occupied.addAll(claims.keySet());
+        }
+        for (int r = 0; r < n; r++) {
+            if (results[r] == null) results[r] = new ExecutionResult.Completed(r + 1, new Position(x[r], y[r]), Direction.values()[h[r]]);
+        }
+        return Arrays.asList(results);
+    }
+
+    @Test
+    void given_roversFacingEachOther_when_lockstep_then_neitherMoves() {
+        var results = lockstep(List.of(plan(0, 0, Direction.E, "M"), plan(1, 0, Direction.W, "M")), new Plateau(3, 3), false);
+        assertEquals(new ExecutionResult.Stopped(1, new Position(0, 0), Direction.E, ExecutionResult.Fault.OCCUPIED, 1, 'M', new Position(1, 0)),
+                results.get(0));
+        assertEquals(new ExecutionResult.Stopped(2, new Position(1, 0), Direction.W, ExecutionResult.Fault.OCCUPIED, 1, 'M', new Position(0, 0)),
+                results.get(1));
+    }
+
+    @Test
+    void given_twoRoversMovingIntoTheSameCell_when_lockstep_then_lowestIdWins() {
+        var plans = List.of(plan(2, 0, Direction.W, "ML"), plan(0, 0, Direction.E, "MLM"));
+        var results = lockstep(plans, new Plateau(3, 3), false);
+        assertEquals(new ExecutionResult.Completed(1, new Position(1, 0), Direction.S), results.get(0));
+        assertEquals(new ExecutionResult.Stopped(2, new Position(0, 0), Direction.E, ExecutionResult.Fault.OCCUPIED, 1, 'M', new Position(1, 0)),
+                results.get(1));
+
+        var skipped = lockstep(List.of(plan(2, 0, Direction.W, "M"), plan(0, 0, Direction.E, "MLM")), new Plateau(3, 3), true);
+        assertEquals(new ExecutionResult.Completed(1, new Position(1, 0), Direction.W), skipped.get(0));
+        assertEquals(new ExecutionResult.Completed(2, new Position(0, 1), Direction.N), skipped.get(1));
+    }
+
+    @Test
+    void given_randomMissions_when_lockstep_then_sameResultsAsReference() {
+        Random rnd = new Random(20);
+        for (int round = 0; round < 100; round++) {
+            boolean big = round % 10 == 0; // enough rovers for the ticks to run in chunks
+            int maxX = rnd.nextInt(big ? 200 : 60), maxY = rnd.nextInt(big ? 200 : 60);
+            int rovers = big ? 5000 : 1 + rnd.nextInt(100);
+            var plans = TestForEngines.randomMission(rnd, maxX, maxY, rovers).stream()
+                    .filter(p -> p.start().x() >= 0 && p.start().y() >= 0 && p.start().x() <= maxX && p.start().y() <= maxY)
+                    .toList();
+            for (boolean skip : new boolean[]{false, true}) {
+                var expected = reference(plans, maxX, maxY, skip);
+                assertEquals(expected, lockstep(plans, new Plateau(maxX, maxY), skip), "round " + round + ", skip " + skip);
+            }
+        }
+    }
+
+    @Test
+    void given_longCommandStringsOnHugePlateau_when_lockstep_then_sameResultsAsReference() {
+        Random rnd = new Random(21);
+        int max = 1_000_000_000, mid = max / 2;
+        List<TestForEngines.Plan> plans = new ArrayList<>();
+        for (int r = 0; r < 40; r++) {
+            StringBuilder commands = new StringBuilder();
+            for (int k = 0; k < 20_000; k++) commands.append("MMMLR".charAt(rnd.nextInt(5)));
+            plans.add(plan(mid + rnd.nextInt(30), mid + rnd.nextInt(30), Direction.values()[rnd.nextInt(4)], commands.toString()));
+        }
+        for (boolean skip : new boolean[]{false, true}) {
+            assertEquals(reference(plans, max, max, skip), lockstep(plans, new Plateau(max, max), skip), "skip " + skip);
+        }
+    }
+
+    @Test
+    void given_mission_when_lockstepEngine_then_plateauHoldsFinalCells() throws IOException {
+        String input = "5 5\n1 2 N\nLMLMLMLMM\n1 3 N\nM\n3 3 E\nMMRMMRMRRM\n";
+        List<ExecutionResult> results = new ArrayList<>();
+        Plateau plateau;
+        try (var mission = new InputParser().open(new BufferedReader(new StringReader(input)))) {
+            MissionRunner.run(mission, MissionRunner.LOCKSTEP, ExecutionPolicy.FAIL_FAST_PER_ROVER, Event.NOOP, null, results::add);
+            plateau = mission.plateau();
+        }
+        // rover 2 leaves (1, 3) on the first tick, before rover 1 comes back up to it
+        assertEquals(new ExecutionResult.Completed(2, new Position(1, 4), Direction.N), results.get(1));
+        assertEquals(3, results.size());
+        for (ExecutionResult res : results) assertTrue(plateau.isOccupied(res.position()));
+        assertEquals(3, plateau.occupiedCount());
+    }
+}
@@ -0,0 +1,77 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.Engine.ExecutionPolicy;
+import org.example.Engine.MissionRunner;
+import org.example.Model.ExecutionResult;
+import org.example.Parser.InputParser;
+import org.example.log.Event;
+import org.example.metrics.Histogram;
+import org.example.metrics.RunMetrics;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForMetrics {
+
+    @Test
+    void given_recordedValues_when_percentiles_then_withinBucketPrecision() {
+        Histogram h = new Histogram();
+        Random rnd = new Random(4);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) h.record(values[i] = (long) (Math.exp(rnd.nextDouble() * 20)));
+        java.util.Arrays.sort(values);
+        assertEquals(values.length, h.count());
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long reported = h.percentile(p);
+            assertTrue(reported >= exact && reported <= exact + exact / 16 + 1, p + ": " + exact + " vs " + reported);
+        }
+        assertEquals(values[values.length - 1], h.percentile(100));
+        assertEquals(values[values.length - 1], h.max());
+    }
+
+    @Test
+    void given_missionWithFaults_when_runWithMetrics_then_stepsAndFaultsCounted() throws Exception {
+        // rover 2 stops on step 6 (out of bounds), rover 3 on step 1 (cell of rover 1)
+        String mission = "5 5\n1 2 N\nLMLMLMLMM\n5 4 N\nLLRRMM\n1 2 N\nMRR\n";
+        for (String engine : MissionRunner.ENGINES) {
+            RunMetrics metrics = new RunMetrics();
+            try (var reader = new InputParser().map(TestUtils.toFile(mission))) {
+                metrics.parsedBytes(reader::bytesConsumed);
+                metrics.occupiedCells(reader.plateau()::occupiedCount);
+                MissionRunner.run(reader, engine, ExecutionPolicy.FAIL_FAST_PER_ROVER, Event.NOOP, metrics, res -> { });
+            }
+            metrics.close();
+            assertEquals(3, metrics.getRovers(), engine);
+            assertEquals(9 + 6 + 1, metrics.getSteps(), engine);
+            assertEquals(1, metrics.faults(ExecutionResult.Fault.OUT_OF_BOUNDS), engine);
+            assertEquals(1, metrics.faults(ExecutionResult.Fault.OCCUPIED), engine);
+            assertEquals(mission.length(), metrics.getParsedBytes(), engine);
+            assertEquals(3, metrics.getOccupiedCells(), engine);
+            assertEquals(3, metrics.roverLatency().count(), engine);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            metrics.writeSummary(out);
+            JsonNode summary = new ObjectMapper().readTree(out.toByteArray());
+            assertEquals(16, summary.get("steps").asLong());
+            assertEquals(1, summary.get("faults").get("OCCUPIED").asLong());
+            assertEquals(3, summary.get("parse").get("rovers").asLong());
+        }
+    }
+
+    @Test
+    void given_publishedMetrics_when_closed_then_mxBeanWithdrawn() throws Exception {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(RunMetrics.OBJECT_NAME);
+        try (RunMetrics metrics = new RunMetrics().publish()) {
+            metrics.occupiedCells(() -> 42);
+            assertEquals(42L, server.getAttribute(name, "OccupiedCells"));
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
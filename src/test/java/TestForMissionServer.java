@@ -0,0 +1,128 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.Server.LoadTest;
+import org.example.Server.MissionServer;
+import org.example.log.Event;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForMissionServer {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String MISSION = "5 5\n1 2 N\nLMLMLMLMM\n3 3 E\nMMRMMRMRRM\n1 2 N\nMMMMMMM\n";
+
+    private static MissionServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void start() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = MissionServer.start(new InetSocketAddress("localhost", 0), "step", Event.NOOP);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void stop() {
+        client.close();
+        server.close();
+    }
+
+    private static HttpResponse<String> post(String path, String contentType, String accept, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder req = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (accept != null) req.header("Accept", accept);
+        return client.send(req.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void given_textMission_when_postedTwice_then_eachRequestHasItsOwnPlateau() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            HttpResponse<String> res = post("/missions", "text/plain", "text/plain", MISSION);
+            assertEquals(200, res.statusCode());
+            assertEquals("1 3 N\n5 1 E\n1 2 N\n", res.body());
+        }
+    }
+
+    @Test
+    void given_ndjsonMission_when_posted_then_resultsCarryStopDetails() throws Exception {
+        String mission = """
+                {"maxX":5,"maxY":5}
+                {"x":1,"y":2,"dir":"N","commands":"LMLMLMLMM"}
+                {"x":1,"y":2,"dir":"N","commands":"MMMMMMM"}
+                """;
+        HttpResponse<String> res = post("/missions?engine=segment", "application/x-ndjson", null, mission);
+        assertEquals(200, res.statusCode());
+        List<String> lines = res.body().lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals(JSON.readTree("{\"roverId\":1,\"status\":\"COMPLETED\",\"pos\":{\"x\":1,\"y\":3},\"dir\":\"N\"}"),
+                JSON.readTree(lines.get(0)));
+        JsonNode stopped = JSON.readTree(lines.get(1));
+        assertEquals("STOPPED", stopped.get("status").asText());
+        assertEquals("OCCUPIED", stopped.get("fault").asText());
+        assertEquals(1, stopped.get("step").asInt());
+        assertEquals(JSON.readTree("{\"x\":1,\"y\":3}"), stopped.get("attempted"));
+    }
+
+    @Test
+    void given_invalidMission_when_posted_then_badRequestWithParserMessage() throws Exception {
+        HttpResponse<String> text = post("/missions", "text/plain", null, "5 5\n1 2 N\nLMX\n");
+        assertEquals(400, text.statusCode());
+        assertEquals("Invalid command: X", JSON.readTree(text.body()).get("error").asText());
+
+        HttpResponse<String> ndjson = post("/missions", "application/x-ndjson", null, "{\"maxX\":5,\"maxY\":5}\n{\"x\":1,");
+        assertEquals(400, ndjson.statusCode());
+        assertTrue(JSON.readTree(ndjson.body()).get("error").asText().startsWith("Invalid JSON for rover #1"));
+    }
+
+    @Test
+    void given_runningServer_when_loadTested_then_everyRequestSucceeds() throws Exception {
+        var report = LoadTest.run(URI.create("http://localhost:" + server.port() + "/missions"),
+                TestUtils.toFile(MISSION), 8, 200);
+        assertEquals(0, report.failed());
+        assertEquals(200, report.latencies().length);
+        assertTrue(report.percentile(50) <= report.percentile(99));
+    }
+
+    @Test
+    void given_limitedServer_when_missionOrResultsTooLarge_then_requestEntityTooLarge() throws Exception {
+        try (MissionServer limited = MissionServer.start(new InetSocketAddress("localhost", 0), "step", Event.NOOP,
+                new MissionServer.Limits(2, 64, 12))) {
+            String url = "http://localhost:" + limited.port() + "/missions";
+            HttpResponse<String> ok = client.send(HttpRequest.newBuilder(URI.create(url))
+                    .POST(HttpRequest.BodyPublishers.ofString("5 5\n1 2 N\nM\n")).header("Accept", "text/plain").build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, ok.statusCode());
+            assertEquals("1 3 N\n", ok.body());
+
+            HttpResponse<String> results = client.send(HttpRequest.newBuilder(URI.create(url))
+                    .POST(HttpRequest.BodyPublishers.ofString(MISSION)).header("Accept", "text/plain").build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(413, results.statusCode());
+            assertEquals("Results over 12 bytes", JSON.readTree(results.body()).get("error").asText());
+
+            HttpResponse<String> body = client.send(HttpRequest.newBuilder(URI.create(url))
+                    .POST(HttpRequest.BodyPublishers.ofString(MISSION + MISSION)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(413, body.statusCode());
+            assertEquals("Mission over 64 bytes", JSON.readTree(body.body()).get("error").asText());
+
+            HttpResponse<String> lockstep = client.send(HttpRequest.newBuilder(URI.create(url + "?engine=lockstep"))
+                    .POST(HttpRequest.BodyPublishers.ofString("100000 100000\n1 2 N\nM\n")).header("Accept", "text/plain").build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, lockstep.statusCode());
+            assertEquals("1 3 N\n", lockstep.body());
+        }
+    }
+}
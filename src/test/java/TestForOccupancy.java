@@ -0,0 +1,177 @@
+import org.example.Model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForOccupancy {
+
+    private static void assertSameAsHashSet(Occupancy occupancy, int width, int height, long seed) {
+        Random rnd = new Random(seed);
+        Set<Position> expected = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            int x = rnd.nextInt(width), y = rnd.nextInt(height);
+            if (rnd.nextBoolean()) {
+                occupancy.add(x, y);
+                expected.add(new Position(x, y));
+            }
+            int qx = rnd.nextInt(width), qy = rnd.nextInt(height);
+            assertEquals(expected.contains(new Position(qx, qy)), occupancy.contains(qx, qy));
+        }
+        assertEquals(expected.size(), occupancy.size());
+    }
+
+    @Test
+    void given_randomCells_when_bitset_then_behavesLikeHashSet() {
+        assertSameAsHashSet(new BitsetOccupancy(37, 23), 37, 23, 1);
+    }
+
+    @Test
+    void given_randomCells_when_longHash_then_behavesLikeHashSet() {
+        assertSameAsHashSet(new LongHashOccupancy(), 300, 300, 2);
+    }
+
+    @Test
+    void given_randomCells_when_tiled_then_behavesLikeHashSet() {
+        assertSameAsHashSet(new TiledOccupancy(), 300, 300, 3);
+    }
+
+    @Test
+    void given_clusteredAndExtremeCells_when_tiled_then_behavesLikeHashSetWithFewTiles() {
+        var occupancy = new TiledOccupancy();
+        Set<Position> expected = new HashSet<>();
+        Random rnd = new Random(4);
+        int[][] centres = {{0, 0}, {-1, -1}, {Integer.MAX_VALUE - 50, Integer.MAX_VALUE - 50}, {Integer.MIN_VALUE + 50, 1 << 30}};
+        for (int i = 0; i < 20_000; i++) {
+            int[] c = centres[rnd.nextInt(centres.length)];
+            int x = c[0] + rnd.nextInt(100) - 50, y = c[1] + rnd.nextInt(100) - 50;
+            occupancy.add(x, y);
+            expected.add(new Position(x, y));
+        }
+        for (Position p : expected) assertTrue(occupancy.contains(p.x(), p.y()));
+        for (int i = 0; i < 20_000; i++) {
+            int x = rnd.nextInt(), y = rnd.nextInt();
+            assertEquals(expected.contains(new Position(x, y)), occupancy.contains(x, y));
+        }
+        Set<Position> visited = new HashSet<>();
+        occupancy.forEach(k -> visited.add(new Position(Occupancy.unpackX(k), Occupancy.unpackY(k))));
+        assertEquals(expected, visited);
+        assertEquals(expected.size(), occupancy.size());
+        assertTrue(occupancy.tiles() <= 4 * 9, "tiles: " + occupancy.tiles()); // each 100x100 cluster spans at most 3x3 tiles
+    }
+
+    @Test
+    void given_scatteredCells_when_tiled_then_bitmapOnlyForTilesWithManyCells() {
+        var occupancy = new TiledOccupancy();
+        Set<Position> expected = new HashSet<>();
+        Random rnd = new Random(17);
+        for (int i = 0; i < 10_000; i++) {
+            // one cell every 1000 cells: no two in the same tile
+            int x = i * 1000 - 5_000_000, y = rnd.nextInt();
+            occupancy.add(x, y);
+            expected.add(new Position(x, y));
+        }
+        assertEquals(0, occupancy.tiles());
+        for (int i = 0; i < 6; i++) {
+            occupancy.add(-64 + i, 64 + 63 - i); // tile (-1, 1), from corner to corner
+            expected.add(new Position(-64 + i, 64 + 63 - i));
+            assertEquals(i == 5 ? 1 : 0, occupancy.tiles());
+        }
+        occupancy.add(-64, 127); // again, after its tile got a bitmap
+        for (Position p : expected) assertTrue(occupancy.contains(p.x(), p.y()));
+        assertFalse(occupancy.contains(-63, 127));
+        assertFalse(occupancy.contains(-5_000_000, 0));
+        Set<Position> visited = new HashSet<>();
+        occupancy.forEach(k -> visited.add(new Position(Occupancy.unpackX(k), Occupancy.unpackY(k))));
+        assertEquals(expected, visited);
+        assertEquals(expected.size(), occupancy.size());
+    }
+
+    @Test
+    void given_hugePlateau_when_occupy_then_sameSemantics() {
+        Plateau plateau = new Plateau(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        plateau.occupy(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        plateau.occupy(0, 0);
+        plateau.occupy(-3, 5); // off the plateau
+        assertTrue(plateau.isBounds(Integer.MAX_VALUE, 0));
+        assertFalse(plateau.isBounds(-1, 0));
+        assertTrue(plateau.isOccupied(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertTrue(plateau.isOccupied(0, 0));
+        assertTrue(plateau.isOccupied(-3, 5));
+        assertFalse(plateau.isOccupied(1, 0));
+        assertEquals(3, plateau.occupiedCount());
+    }
+
+    @Test
+    void given_occupiedCells_when_mayBeOccupied_then_neverMissesOne() {
+        Random rnd = new Random(19);
+        for (int[] size : new int[][]{{300, 200}, {Integer.MAX_VALUE, 100_000}}) {
+            Plateau plateau = new Plateau(size[0], size[1]);
+            Set<Position> cells = new HashSet<>();
+            for (int i = 0; i < 50; i++) {
+                // half the cells before the index is built, half after
+                if (i == 25) plateau.mayBeOccupied(0, 0, 0, 0);
+                Position p = new Position(rnd.nextInt(Math.min(size[0], 300)), rnd.nextInt(Math.min(size[1], 200)));
+                plateau.occupy(p);
+                cells.add(p);
+            }
+            for (int q = 0; q < 2000; q++) {
+                int x0 = rnd.nextInt(300), y0 = rnd.nextInt(200);
+                int x1 = Math.min(size[0], x0 + rnd.nextInt(40)), y1 = Math.min(size[1], y0 + rnd.nextInt(40));
+                boolean any = cells.stream().anyMatch(p -> p.x() >= x0 && p.x() <= x1 && p.y() >= y0 && p.y() <= y1);
+                if (any) assertTrue(plateau.mayBeOccupied(x0, y0, x1, y1));
+            }
+        }
+        Plateau empty = new Plateau(1000, 1000);
+        empty.occupy(999, 999);
+        assertFalse(empty.mayBeOccupied(0, 0, 500, 500));
+        assertTrue(empty.mayBeOccupied(960, 960, 999, 999));
+    }
+
+    @Test
+    void given_manyCellsOnFewLines_when_firstOccupiedAlong_then_sameAsProbingEveryCell() {
+        Random rnd = new Random(5);
+        Plateau plateau = new Plateau(3000, 40);
+        Set<Position> occupied = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            // rows and columns of thousands of cells, a few cells off the plateau, extremes included
+            int x = rnd.nextInt(50) == 0 ? Integer.MIN_VALUE + rnd.nextInt(3) : rnd.nextInt(3002) - 1;
+            int y = rnd.nextInt(50) == 0 ? Integer.MAX_VALUE - rnd.nextInt(3) : rnd.nextInt(42) - 1;
+            plateau.occupy(x, y);
+            occupied.add(new Position(x, y));
+            if (i % 7 != 0) continue;
+            int qx = rnd.nextInt(3002) - 1, qy = rnd.nextInt(42) - 1, steps = 1 + rnd.nextInt(4000);
+            for (Direction d : Direction.values()) {
+                int expected = 0;
+                for (int t = 1; t <= steps && expected == 0; t++)
+                    if (occupied.contains(new Position(qx + t * d.dx(), qy + t * d.dy()))) expected = t;
+                assertEquals(expected, plateau.firstOccupiedAlong(qx, qy, d, steps), qx + " " + qy + " " + d);
+            }
+        }
+    }
+
+    @Test
+    void given_extremeCoordinates_when_longHash_then_distinctCells() {
+        var occupancy = new LongHashOccupancy();
+        occupancy.add(0, 0);
+        occupancy.add(Integer.MIN_VALUE, 0);
+        occupancy.add(-1, -1);
+        assertTrue(occupancy.contains(0, 0));
+        assertTrue(occupancy.contains(Integer.MIN_VALUE, 0));
+        assertTrue(occupancy.contains(-1, -1));
+        assertFalse(occupancy.contains(0, Integer.MIN_VALUE));
+        assertEquals(3, occupancy.size());
+    }
+
+    @Test
+    void given_cellOffPlateau_when_occupy_then_trackedWithoutTouchingGrid() {
+        Plateau plateau = new Plateau(2, 2);
+        plateau.occupy(new Position(7, -1));
+        assertTrue(plateau.isOccupied(7, -1));
+        assertFalse(plateau.isOccupied(2, 0));
+        assertEquals(1, plateau.occupiedCount());
+    }
+}
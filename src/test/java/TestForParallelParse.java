@@ -0,0 +1,87 @@
+import org.example.Exception.InputFormatException;
+import org.example.Parser.InputParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForParallelParse {
+
+    /** About {@code bytes} of valid mission with blank lines, CRLF, tabs and the odd long commands line. */
+    private static StringBuilder mission(Random rnd, int bytes) {
+        StringBuilder text = new StringBuilder("100 100\n");
+        while (text.length() < bytes) {
+            text.append(rnd.nextInt(100)).append(rnd.nextBoolean() ? " " : " \t ").append(rnd.nextInt(100))
+                    .append(' ').append("NESWnesw".charAt(rnd.nextInt(8))).append(rnd.nextInt(8) == 0 ? "\r\n" : "\n");
+            if (rnd.nextInt(10) == 0) text.append("\n  \n");
+            int len = rnd.nextInt(500) == 0 ? 1_500_000 : 1 + rnd.nextInt(200); // some lines span whole chunks
+            for (int i = 0; i < len; i++) text.append("LRMlrm".charAt(rnd.nextInt(6)));
+            text.append(rnd.nextBoolean() ? "\n" : "  \n");
+        }
+        return text;
+    }
+
+    /** Plans as strings, then the error message if parsing failed. */
+    private static List<String> read(Path path, int threads) throws IOException {
+        List<String> out = new ArrayList<>();
+        try (var reader = new InputParser().map(path, threads)) {
+            while (reader.hasNext()) {
+                var plan = reader.next();
+                out.add(plan.position() + " " + plan.direction() + " " + plan.commands().length() + " " + plan.commands().charAt(0));
+            }
+            out.add("rovers " + reader.roverCount() + ", bytes " + reader.bytesConsumed());
+        } catch (InputFormatException e) {
+            out.add(e.getMessage());
+        }
+        return out;
+    }
+
+    @Test
+    void given_largeMission_when_parsedInParallel_then_samePlansInOrder() throws IOException {
+        Path path = TestUtils.toFile(mission(new Random(22), 12 << 20).toString());
+        List<String> expected = read(path, 1);
+        assertTrue(expected.size() > 2_000, "rovers: " + expected.size());
+        assertEquals(expected, read(path, 4));
+    }
+
+    @Test
+    void given_invalidLinesInLargeMission_when_parsedInParallel_then_sameErrorAfterSamePlans() throws IOException {
+        Random rnd = new Random(23);
+        for (String broken : List.of("LMX", "1 2 N", "1 2", "a b N", "M M")) {
+            StringBuilder text = mission(rnd, 6 << 20);
+            // replace a commands line halfway through, so that earlier chunks parse and later ones misalign
+            int at = text.indexOf("\n", text.length() / 2);
+            at = text.indexOf("\n", at + 1);
+            while (Character.isDigit(text.charAt(at + 1)) || text.charAt(at + 1) == '\n' || text.charAt(at + 1) == ' ')
+                at = text.indexOf("\n", at + 1);
+            text.replace(at + 1, text.indexOf("\n", at + 1), broken);
+            Path path = TestUtils.toFile(text.toString());
+
+            List<String> expected = read(path, 1);
+            assertEquals(expected, read(path, 3), broken);
+        }
+    }
+
+    @Test
+    void given_chunksOfManyTinyPlans_when_parsedInParallel_then_samePlansAcrossTaskSplits() throws IOException {
+        Random rnd = new Random(22);
+        StringBuilder text = new StringBuilder("100 100\n");
+        while (text.length() < 5 << 20) {
+            text.append(rnd.nextInt(100)).append(' ').append(rnd.nextInt(100)).append(' ').append("NESW".charAt(rnd.nextInt(4)))
+                    .append('\n').append("LRM".charAt(rnd.nextInt(3))).append('\n');
+        }
+        Path path = TestUtils.toFile(text.toString());
+        List<String> expected = read(path, 1);
+        assertTrue(expected.size() > 500_000, "rovers: " + expected.size()); // several tasks' worth per chunk
+        assertEquals(expected, read(path, 3));
+
+        text.replace(text.length() - 2, text.length() - 1, "X");
+        Path broken = TestUtils.toFile(text.toString());
+        assertEquals(read(broken, 1), read(broken, 3));
+    }
+}
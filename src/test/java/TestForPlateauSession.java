@@ -0,0 +1,70 @@
+import org.example.Engine.StepEngine;
+import org.example.Exception.InputFormatException;
+import org.example.Model.*;
+import org.example.Parser.InputParser;
+import org.example.Session.PlateauSession;
+import org.example.log.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForPlateauSession {
+
+    private static List<InputParser.RoverPlan> plans(List<TestForEngines.Plan> plans) {
+        return plans.stream().map(p -> new InputParser.RoverPlan(p.start(), p.dir(), p.commands())).toList();
+    }
+
+    @Test
+    void given_missionSplitAcrossSnapshots_when_resumed_then_sameResultsAsOneRun() throws IOException {
+        Random rnd = new Random(12);
+        Path snapshot = Files.createTempFile("session-", ".snap");
+        snapshot.toFile().deleteOnExit();
+        for (String engine : List.of("step", "segment", "parallel")) {
+            var mission = TestForEngines.randomMission(rnd, 9, 6, 300);
+            var expected = TestForEngines.run(StepEngine::execute, new Plateau(9, 6), mission);
+
+            List<ExecutionResult> results = new ArrayList<>();
+            PlateauSession session = new PlateauSession(9, 6, engine, Event.NOOP);
+            var first = plans(mission.subList(0, 120));
+            results.add(session.submit(first.get(0).position(), first.get(0).direction(), first.get(0).commands()));
+            results.addAll(session.submit(first.subList(1, first.size()).iterator()));
+            session.save(snapshot);
+
+            PlateauSession resumed = PlateauSession.load(snapshot, engine, Event.NOOP);
+            assertEquals(120, resumed.roverCount());
+            assertEquals(session.occupiedCount(), resumed.occupiedCount());
+            results.addAll(resumed.submit(plans(mission.subList(120, mission.size())).iterator()));
+
+            assertEquals(expected, results, engine);
+            assertEquals(300, resumed.roverCount());
+            assertEquals(expected.stream().filter(r -> r instanceof ExecutionResult.Stopped).count(), resumed.stoppedCount());
+        }
+    }
+
+    @Test
+    void given_invalidPlanInBatch_when_submitted_then_earlierRoversStayLanded() {
+        PlateauSession session = new PlateauSession(5, 5, "step", Event.NOOP);
+        var batch = List.of(
+                new InputParser.RoverPlan(new Position(1, 2), Direction.N, "LMLMLMLMM"),
+                new InputParser.RoverPlan(new Position(3, 3), Direction.E, "MMX"));
+        assertThrows(InputFormatException.class, () -> session.submit(batch.iterator()));
+        assertEquals(1, session.roverCount());
+        assertTrue(session.isOccupied(1, 3));
+
+        var next = session.submit(new Position(1, 2), Direction.N, "M");
+        assertEquals(2, next.roverId());
+        assertInstanceOf(ExecutionResult.Stopped.class, next);
+    }
+
+    @Test
+    void given_otherFile_when_loaded_then_rejected() {
+        assertThrows(IOException.class, () -> PlateauSession.load(TestUtils.toFile("5 5\n"), "step", Event.NOOP));
+    }
+}
@@ -0,0 +1,99 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.Engine.MissionRunner;
+import org.example.Model.*;
+import org.example.Output.BinaryResultSink;
+import org.example.Output.ResultSink;
+import org.example.Parser.InputParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestForResultSink {
+
+    private static final List<ExecutionResult> RESULTS = List.of(
+            new ExecutionResult.Completed(1, new Position(1, 3), Direction.N),
+            new ExecutionResult.Stopped(2, new Position(-4, Integer.MAX_VALUE), Direction.W,
+                    ExecutionResult.Fault.OUT_OF_BOUNDS, 12, 'M', new Position(-5, Integer.MAX_VALUE)),
+            new ExecutionResult.Stopped(3, new Position(1, 3), Direction.E,
+                    ExecutionResult.Fault.OCCUPIED, 0, '-', new Position(1, 3)));
+
+    private static byte[] write(ResultSink.Format format, List<ExecutionResult> results) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ResultSink sink = ResultSink.open(format, Channels.newChannel(out), true)) {
+            results.forEach(sink);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void given_results_when_text_then_sameLinesAsBefore() throws IOException {
+        assertEquals("1 3 N\n-4 2147483647 W\n1 3 E\n", new String(write(ResultSink.Format.TEXT, RESULTS)));
+    }
+
+    @Test
+    void given_results_when_ndjson_then_oneObjectPerRoverWithFaultDetails() throws IOException {
+        String[] lines = new String(write(ResultSink.Format.NDJSON, RESULTS)).split("\n");
+        assertEquals(3, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode completed = mapper.readTree(lines[0]);
+        assertEquals("COMPLETED", completed.get("status").asText());
+        assertEquals(3, completed.get("pos").get("y").asInt());
+        assertFalse(completed.has("fault"));
+        JsonNode stopped = mapper.readTree(lines[1]);
+        assertEquals(2, stopped.get("roverId").asInt());
+        assertEquals("OUT_OF_BOUNDS", stopped.get("fault").asText());
+        assertEquals(12, stopped.get("step").asInt());
+        assertEquals("M", stopped.get("command").asText());
+        assertEquals(-5, stopped.get("attempted").get("x").asInt());
+        assertEquals("-", mapper.readTree(lines[2]).get("command").asText());
+    }
+
+    @Test
+    void given_manyResults_when_binary_then_readBackEqual() throws IOException {
+        List<ExecutionResult> expected = new ArrayList<>();
+        Random rnd = new Random(18);
+        for (int i = 0; i < 10_000; i++) expected.add(RESULTS.get(rnd.nextInt(RESULTS.size()))); // spans several buffers
+        byte[] bytes = write(ResultSink.Format.BINARY, expected);
+
+        List<ExecutionResult> read = new ArrayList<>();
+        assertEquals(expected.size(), BinaryResultSink.read(Channels.newChannel(new ByteArrayInputStream(bytes)), read::add));
+        assertEquals(expected, read);
+    }
+
+    @Test
+    void given_corruptRecord_when_binaryRead_then_ioExceptionWithItsOffset() throws IOException {
+        // second record, at offset 40: status at +4, heading at +5, fault at +6
+        int[][] corruptions = {{44, 7}, {45, 4}, {45, 0x80}, {46, 9}};
+        String[] details = {"unknown status 7", "unknown heading 4", "unknown heading 128", "unknown fault 9"};
+        for (int k = 0; k < corruptions.length; k++) {
+            byte[] bytes = write(ResultSink.Format.BINARY, RESULTS);
+            bytes[corruptions[k][0]] = (byte) corruptions[k][1];
+            List<ExecutionResult> read = new ArrayList<>();
+            var e = assertThrows(IOException.class,
+                    () -> BinaryResultSink.read(Channels.newChannel(new ByteArrayInputStream(bytes)), read::add));
+            assertEquals("corrupt results record at offset 40: " + details[k], e.getMessage());
+            assertEquals(RESULTS.subList(0, 1), read);
+        }
+    }
+
+    @Test
+    void given_mission_when_run_then_terminalEventLoggedOncePerRover() throws IOException {
+        var logger = new TestForFailFastPerRover.CaptureLogger();
+        try (var mission = new InputParser().open(new BufferedReader(new StringReader("5 5\n1 2 N\nLMLMLMLMM\n1 3 N\nM\n3 3 E\nMMRMMRMRRM\n")))) {
+            MissionRunner.run(mission, "step", logger, res -> { });
+        }
+        assertEquals(2, logger.entries.stream().filter(e -> e.type().equals("ROVER_COMPLETED")).count());
+        assertEquals(1, logger.entries.stream().filter(e -> e.type().equals("ROVER_STOPPED")).count());
+    }
+}